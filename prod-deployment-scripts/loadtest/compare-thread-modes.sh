@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+#
+# Throughput / p99 comparison of the default (platform thread) mode and the virtual-threads profile,
+# and a sweep of the virtual-threads request bulkhead size.
+#
+# Starts the jar once per mode against the configured database, logs in as a seeded user, drives the
+# read-heavy dashboard endpoints with `hey` at several concurrency levels and prints one CSV row per run.
+#
+# Requirements: java 21 (jar built with mvn -Pjava21 package), hey (https://github.com/rakyll/hey), curl, jq
+#
+# Usage:
+#   NETLY_EMAIL=loadtest@example.com NETLY_PASSWORD=secret ./compare-thread-modes.sh /path/to/netly.jar
+#
+# Optional environment:
+#   PORT=18082                        port the jar is started on
+#   CONCURRENCY="20 50 100 200"       hey -c levels
+#   DURATION=30s                      hey -z per level
+#   PERMITS="20 40 80"                virtual-threads.max-concurrent-requests values to sweep
+#   EXTRA_ARGS="..."                  extra Spring arguments (datasource, redis, ...)
+
+set -euo pipefail
+
+JAR="${1:?usage: $0 /path/to/netly.jar}"
+PORT="${PORT:-18082}"
+CONCURRENCY="${CONCURRENCY:-20 50 100 200}"
+DURATION="${DURATION:-30s}"
+PERMITS="${PERMITS:-20 40 80}"
+EXTRA_ARGS="${EXTRA_ARGS:-}"
+BASE_URL="http://localhost:${PORT}"
+: "${NETLY_EMAIL:?set NETLY_EMAIL to a user with assets, liabilities and snapshots}"
+: "${NETLY_PASSWORD:?set NETLY_PASSWORD}"
+
+ENDPOINTS=(
+  "/api/assets"
+  "/api/liabilities"
+  "/api/assets/summary"
+  "/api/portfolio-snapshots/history/series?weeks=52"
+)
+
+APP_PID=""
+
+stop_app() {
+  if [[ -n "${APP_PID}" ]] && kill -0 "${APP_PID}" 2>/dev/null; then
+    kill "${APP_PID}"
+    wait "${APP_PID}" 2>/dev/null || true
+  fi
+  APP_PID=""
+}
+trap stop_app EXIT
+
+start_app() {
+  local label="$1"
+  shift
+  # shellcheck disable=SC2086
+  java -jar "${JAR}" --server.port="${PORT}" "$@" ${EXTRA_ARGS} > "/tmp/netly-loadtest-${label}.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 90); do
+    if curl -fs "${BASE_URL}/actuator/health" > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Application did not become healthy, see /tmp/netly-loadtest-${label}.log" >&2
+  exit 1
+}
+
+login() {
+  curl -fs -X POST "${BASE_URL}/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "$(jq -n --arg email "${NETLY_EMAIL}" --arg password "${NETLY_PASSWORD}" '{email: $email, password: $password}')" \
+    | jq -r '.token'
+}
+
+# Prints: requests/sec,p50 ms,p99 ms,non-2xx responses
+run_hey() {
+  local token="$1" concurrency="$2" path="$3"
+  hey -z "${DURATION}" -c "${concurrency}" -H "Authorization: Bearer ${token}" "${BASE_URL}${path}" \
+    | awk '
+        /Requests\/sec:/ { rps = $2 }
+        /^[ \t]*50%+ in/ { p50 = $3 * 1000 }
+        /^[ \t]*99%+ in/ { p99 = $3 * 1000 }
+        /^[ \t]*\[[0-9]+\]/ { code = substr($1, 2, 3); if (code !~ /^2/) errors += $2 }
+        END { printf "%.1f,%.1f,%.1f,%d\n", rps, p50, p99, errors }'
+}
+
+measure() {
+  local mode="$1" permits="$2"
+  local token
+  token="$(login)"
+  for path in "${ENDPOINTS[@]}"; do
+    # Warm up the JIT and the caches before measuring
+    hey -z 5s -c 10 -H "Authorization: Bearer ${token}" "${BASE_URL}${path}" > /dev/null
+    for concurrency in ${CONCURRENCY}; do
+      echo "${mode},${permits},${path},${concurrency},$(run_hey "${token}" "${concurrency}" "${path}")"
+    done
+  done
+}
+
+echo "mode,permits,endpoint,concurrency,requests_per_sec,p50_ms,p99_ms,non_2xx"
+
+start_app platform
+measure platform -
+stop_app
+
+for permits in ${PERMITS}; do
+  start_app "virtual-${permits}" --spring.profiles.active=virtual-threads \
+    --virtual-threads.max-concurrent-requests="${permits}"
+  measure virtual-threads "${permits}"
+  stop_app
+done
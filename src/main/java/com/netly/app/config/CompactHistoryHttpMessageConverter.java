@@ -0,0 +1,63 @@
+package com.netly.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.netly.app.dto.CompactPortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistorySeriesDTO;
+import com.netly.app.util.CompactSeriesEncoder;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes history responses in the compact encoding when the client asks for it via the Accept header:
+ * {@code application/vnd.netly.compact} for JSON, {@code application/vnd.netly.compact-cbor} for CBOR.
+ * Registered after the default Jackson converter so regular JSON clients are unaffected.
+ */
+public class CompactHistoryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType("application/vnd.netly.compact");
+    public static final MediaType COMPACT_CBOR = MediaType.parseMediaType("application/vnd.netly.compact-cbor");
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    public CompactHistoryHttpMessageConverter() {
+        super(COMPACT_JSON, COMPACT_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PortfolioHistoryDTO.class.isAssignableFrom(clazz)
+                || PortfolioHistorySeriesDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact history encoding is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object history, HttpOutputMessage outputMessage) throws IOException {
+        CompactPortfolioHistoryDTO compact = history instanceof PortfolioHistoryDTO portfolioHistory
+                ? CompactSeriesEncoder.encode(portfolioHistory)
+                : CompactSeriesEncoder.encode((PortfolioHistorySeriesDTO) history);
+
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        ObjectMapper mapper = contentType != null && COMPACT_CBOR.isCompatibleWith(contentType)
+                ? cborMapper
+                : jsonMapper;
+
+        outputMessage.getBody().write(mapper.writeValueAsBytes(compact));
+    }
+}
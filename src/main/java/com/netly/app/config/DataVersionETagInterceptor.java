@@ -0,0 +1,86 @@
+package com.netly.app.config;
+
+import com.netly.app.repository.UserRepository;
+import com.netly.app.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Conditional GET for user data reads. The ETag is derived from the user's data version (plus the
+ * current date, since history windows are relative to today, and the Accept header), so a matching
+ * If-None-Match is answered with 304 before the controller or service runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionETagInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+
+        Optional<UserRepository.UserDataVersion> dataVersion = dataVersionService.getDataVersion(authentication.getName());
+        if (dataVersion.isEmpty()) {
+            return true;
+        }
+
+        String eTag = buildETag(dataVersion.get(), request);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    private String buildETag(UserRepository.UserDataVersion dataVersion, HttpServletRequest request) {
+        return "\"" + dataVersion.getId()
+                + "-" + dataVersion.getDataVersion()
+                + "-" + LocalDate.now().toEpochDay()
+                + "-" + Integer.toHexString(Objects.hashCode(request.getHeader(HttpHeaders.ACCEPT)))
+                + "\"";
+    }
+
+    /**
+     * Weak comparison, as If-None-Match allows; proxies that gzip the body (nginx) weaken the ETag.
+     */
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
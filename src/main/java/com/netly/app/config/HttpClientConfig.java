@@ -0,0 +1,36 @@
+package com.netly.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP client. The JDK client keeps pooled keep-alive connections per host and
+ * negotiates HTTP/2 over TLS, falling back to HTTP/1.1 when the upstream does not support it.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connect.timeout.millis:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Bean
+    public HttpClient outboundHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreadsEnabled) {
+            // Async response handling runs on virtual threads instead of the client's cached pool
+            builder.executor(new VirtualThreadTaskExecutor("http-client-"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.netly.app.config;
+
+import com.netly.app.model.JobRun;
+import com.netly.app.service.JobRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch job run history at /actuator/jobruns, optionally filtered by job name (/actuator/jobruns/{jobName})
+ */
+@Component
+@Endpoint(id = "jobruns")
+@RequiredArgsConstructor
+public class JobRunsEndpoint {
+
+    private final JobRunService jobRunService;
+
+    @ReadOperation
+    public List<JobRun> recentRuns() {
+        return jobRunService.getHistory(null);
+    }
+
+    @ReadOperation
+    public List<JobRun> recentRunsOfJob(@Selector String jobName) {
+        return jobRunService.getHistory(jobName);
+    }
+}
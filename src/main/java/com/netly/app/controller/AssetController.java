@@ -1,12 +1,20 @@
 package com.netly.app.controller;
 
 import com.netly.app.dto.AssetDTO;
+import com.netly.app.dto.AssetRevaluationRequest;
+import com.netly.app.dto.AssetRevaluationResponse;
+import com.netly.app.dto.ImportResultDTO;
 import com.netly.app.dto.PortfolioSummaryDTO;
 import com.netly.app.service.AssetService;
+import com.netly.app.service.PortfolioImportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,6 +23,7 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final PortfolioImportService portfolioImportService;
 
     @GetMapping
     public ResponseEntity<List<AssetDTO>> getAllAssets() {
@@ -32,6 +41,16 @@ public class AssetController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAsset);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importAssets(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(portfolioImportService.importAssets(file.getInputStream()));
+    }
+
+    @PostMapping("/revalue")
+    public ResponseEntity<AssetRevaluationResponse> revalueAssets(@RequestBody AssetRevaluationRequest request) {
+        return ResponseEntity.ok(assetService.revalueAssets(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AssetDTO> updateAsset(@PathVariable Long id, @RequestBody AssetDTO assetDTO) {
         return ResponseEntity.ok(assetService.updateAsset(id, assetDTO));
@@ -5,9 +5,12 @@ import com.netly.app.dto.LoginRequest;
 import com.netly.app.dto.OtpRequest;
 import com.netly.app.dto.OtpVerifyRequest;
 import com.netly.app.dto.SignupRequest;
+import com.netly.app.security.PasswordHashingBusyException;
+import com.netly.app.security.RateLimitExceededException;
 import com.netly.app.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +30,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.signup(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(1);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -37,6 +42,10 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(1);
+        } catch (RateLimitExceededException e) {
+            return tooManyRequests(e.getRetryAfterSeconds());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -49,6 +58,8 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "OTP sent to your email");
             return ResponseEntity.ok(response);
+        } catch (RateLimitExceededException e) {
+            return tooManyRequests(e.getRetryAfterSeconds());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -63,5 +74,10 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
-}
 
+    private <T> ResponseEntity<T> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+}
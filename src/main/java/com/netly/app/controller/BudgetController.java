@@ -1,5 +1,7 @@
 package com.netly.app.controller;
 
+import com.netly.app.dto.BudgetBulkRequest;
+import com.netly.app.dto.BudgetBulkResponse;
 import com.netly.app.dto.BudgetItemDTO;
 import com.netly.app.dto.BudgetSummaryDTO;
 import com.netly.app.service.BudgetService;
@@ -49,6 +51,11 @@ public class BudgetController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BudgetBulkResponse> applyBulkChanges(@RequestBody BudgetBulkRequest request) {
+        return ResponseEntity.ok(budgetService.applyBulkChanges(request));
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<BudgetSummaryDTO> getBudgetSummary() {
         return ResponseEntity.ok(budgetService.getBudgetSummary());
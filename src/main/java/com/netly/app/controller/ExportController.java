@@ -0,0 +1,66 @@
+package com.netly.app.controller;
+
+import com.netly.app.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Downloads of a user's data, streamed as CSV (default) or NDJSON ({@code ?format=ndjson})
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/assets")
+    public void exportAssets(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "assets", format);
+        exportService.exportAssets(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/liabilities")
+    public void exportLiabilities(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "liabilities", format);
+        exportService.exportLiabilities(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/budget-items")
+    public void exportBudgetItems(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "budget-items", format);
+        exportService.exportBudgetItems(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/snapshots")
+    public void exportSnapshots(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "snapshots", format);
+        exportService.exportSnapshots(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/snapshots/assets")
+    public void exportAssetSnapshots(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "asset-snapshots", format);
+        exportService.exportAssetSnapshots(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/snapshots/liabilities")
+    public void exportLiabilitySnapshots(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = prepare(response, "liability-snapshots", format);
+        exportService.exportLiabilitySnapshots(exportFormat, response.getOutputStream());
+    }
+
+    private ExportService.Format prepare(HttpServletResponse response, String name, String format) {
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"netly-" + name + "-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"");
+        return exportFormat;
+    }
+}
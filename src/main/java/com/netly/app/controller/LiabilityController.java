@@ -1,11 +1,17 @@
 package com.netly.app.controller;
 
 import com.netly.app.dto.LiabilityDTO;
+import com.netly.app.dto.ImportResultDTO;
 import com.netly.app.service.LiabilityService;
+import com.netly.app.service.PortfolioImportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,6 +20,7 @@ import java.util.List;
 public class LiabilityController {
 
     private final LiabilityService liabilityService;
+    private final PortfolioImportService portfolioImportService;
 
     @GetMapping
     public ResponseEntity<List<LiabilityDTO>> getAllLiabilities() {
@@ -31,6 +38,11 @@ public class LiabilityController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdLiability);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importLiabilities(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(portfolioImportService.importLiabilities(file.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<LiabilityDTO> updateLiability(@PathVariable Long id, @RequestBody LiabilityDTO liabilityDTO) {
         return ResponseEntity.ok(liabilityService.updateLiability(id, liabilityDTO));
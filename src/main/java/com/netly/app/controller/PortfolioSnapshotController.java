@@ -1,6 +1,7 @@
 package com.netly.app.controller;
 
 import com.netly.app.dto.PortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistorySeriesDTO;
 import com.netly.app.dto.PortfolioSnapshotDTO;
 import com.netly.app.service.PortfolioSnapshotService;
 import lombok.RequiredArgsConstructor;
@@ -62,6 +63,16 @@ public class PortfolioSnapshotController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * Get portfolio, asset type and liability type history for charting in a single call
+     */
+    @GetMapping("/history/series")
+    public ResponseEntity<PortfolioHistorySeriesDTO> getHistorySeries(
+            @RequestParam(required = false, defaultValue = "12") Integer weeks) {
+        PortfolioHistorySeriesDTO history = portfolioSnapshotService.getHistorySeries(weeks);
+        return ResponseEntity.ok(history);
+    }
+
     /**
      * Get history for a specific asset
      */
@@ -0,0 +1,23 @@
+package com.netly.app.controller;
+
+import com.netly.app.dto.SyncResponseDTO;
+import com.netly.app.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> getChanges(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(syncService.getChanges(since));
+    }
+}
@@ -1,15 +1,19 @@
 package com.netly.app.controller;
 
+import com.netly.app.dto.ReportJobDTO;
 import com.netly.app.dto.RequestOtpForEmailChangeRequest;
 import com.netly.app.dto.UpdateBasicInfoRequest;
 import com.netly.app.dto.UpdateBasicInfoWithOtpRequest;
 import com.netly.app.dto.UpdateSecondaryEmailsRequest;
 import com.netly.app.dto.UpdateSecondaryEmailsWithOtpRequest;
 import com.netly.app.dto.UserProfileDTO;
-import com.netly.app.service.ReportingService;
+import com.netly.app.security.RateLimitExceededException;
+import com.netly.app.service.ReportJobService;
 import com.netly.app.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,7 +30,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
-    private final ReportingService reportingService;
+    private final ReportJobService reportJobService;
     private final com.netly.app.repository.UserRepository userRepository;
 
     @GetMapping("/profile")
@@ -124,23 +128,24 @@ public class UserController {
 
 
     @PostMapping("/profile/send-portfolio-report")
-    public ResponseEntity<String> sendPortfolioReport(Authentication authentication) {
-        try {
-            reportingService.sendReport();
-            return ResponseEntity.ok("Portfolio report queued successfully. It will be sent to all your email addresses.");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Failed to send portfolio report");
-        }
+    public ResponseEntity<ReportJobDTO> sendPortfolioReport(Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(ReportJobDTO.ReportType.PORTFOLIO));
     }
 
     @PostMapping("/profile/send-budget-report")
-    public ResponseEntity<String> sendBudgetReport(Authentication authentication) {
-        try {
-            reportingService.sendBudgetReport();
-            return ResponseEntity.ok("Budget report queued successfully. It will be sent to all your email addresses.");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Failed to send budget report");
-        }
+    public ResponseEntity<ReportJobDTO> sendBudgetReport(Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(ReportJobDTO.ReportType.BUDGET));
+    }
+
+    @GetMapping("/profile/report-jobs/{jobId}")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable String jobId) {
+        return ResponseEntity.of(reportJobService.getJob(jobId));
     }
-}
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body("Please wait before requesting another OTP.");
+    }
+}
@@ -22,6 +22,7 @@ public class AssetDTO {
     private BigDecimal quantity;
     private String description;
     private String location;
+    private String symbol;
     private String currency;
     private Boolean illiquid;
     private BigDecimal gainLoss;
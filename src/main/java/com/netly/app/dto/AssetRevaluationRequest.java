@@ -0,0 +1,37 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * New values for a user's assets, either directly by asset id or as a unit price per symbol
+ * (applied as quantity x price to every asset with that symbol).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetRevaluationRequest {
+    private List<AssetValue> values = new ArrayList<>();
+    private List<SymbolPrice> prices = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssetValue {
+        private Long assetId;
+        private BigDecimal currentValue;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SymbolPrice {
+        private String symbol;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,16 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Assets whose value changed, and the portfolio summary after the revaluation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetRevaluationResponse {
+    private int assetsUpdated;
+    private PortfolioSummaryDTO summary;
+}
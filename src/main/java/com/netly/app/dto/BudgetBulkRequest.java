@@ -0,0 +1,30 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of budget edits applied in one transaction.
+ * Deletes run first, then updates, reorders and finally creates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetBulkRequest {
+    private List<BudgetItemDTO> creates = new ArrayList<>();
+    private List<BudgetItemDTO> updates = new ArrayList<>();
+    private List<Long> deletes = new ArrayList<>();
+    private List<Reorder> reorders = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Reorder {
+        private Long id;
+        private Integer displayOrder;
+    }
+}
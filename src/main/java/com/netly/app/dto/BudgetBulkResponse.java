@@ -0,0 +1,18 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The user's budget items and summary after a bulk change
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetBulkResponse {
+    private List<BudgetItemDTO> items;
+    private BudgetSummaryDTO summary;
+}
@@ -0,0 +1,39 @@
+package com.netly.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Compact encoding of {@link PortfolioHistoryDTO} / {@link PortfolioHistorySeriesDTO}.
+ * Dates are an epoch-day start plus a fixed stride (or per-point day deltas when the spacing is irregular),
+ * and every series is delta-encoded paise. Series that don't apply are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactPortfolioHistoryDTO {
+    private int count;
+    private Long startEpochDay;
+    private Integer strideDays;
+    private long[] dayDeltas;
+    private long[] totalAssets;
+    private long[] totalLiabilities;
+    private long[] netWorth;
+    private long[] totalGains;
+    private Map<String, CompactTypeSeries> assetTypes;
+    private Map<String, CompactTypeSeries> liabilityTypes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CompactTypeSeries {
+        private long[] values;
+        private long[] gains;
+    }
+}
@@ -0,0 +1,32 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. Only the first errors are listed; {@code rowsFailed} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based data row, not counting the header
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,36 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All dashboard chart series for a range in one columnar payload.
+ * Every list is parallel to {@code dates}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioHistorySeriesDTO {
+    private List<String> dates;
+    private List<BigDecimal> totalAssets;
+    private List<BigDecimal> totalLiabilities;
+    private List<BigDecimal> netWorth;
+    private List<BigDecimal> totalGains;
+
+    // Keyed by type display name
+    private Map<String, TypeSeries> assetTypes;
+    private Map<String, TypeSeries> liabilityTypes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypeSeries {
+        private List<BigDecimal> values;
+        private List<BigDecimal> gains;
+    }
+}
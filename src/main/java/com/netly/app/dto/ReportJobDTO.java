@@ -0,0 +1,25 @@
+package com.netly.app.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous report request
+ */
+@Data
+public class ReportJobDTO {
+
+    public enum ReportType { PORTFOLIO, BUDGET }
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private ReportType reportType;
+    private Status status;
+    private String error;
+    private Instant createdAt;
+    private Instant completedAt;
+    // True when the request joined a job that was already queued or recently completed
+    private boolean deduplicated;
+}
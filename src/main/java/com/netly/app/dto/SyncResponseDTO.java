@@ -0,0 +1,37 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities changed since a sync cursor. When {@code fullResync} is true the lists hold everything and the
+ * client should replace its local store. Pass {@code cursor} as {@code since} on the next call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+    private String cursor;
+    private boolean fullResync;
+    private List<AssetDTO> assets = new ArrayList<>();
+    private List<LiabilityDTO> liabilities = new ArrayList<>();
+    private List<BudgetItemDTO> budgetItems = new ArrayList<>();
+    private List<CustomAssetTypeDTO> assetTypes = new ArrayList<>();
+    private List<CustomLiabilityTypeDTO> liabilityTypes = new ArrayList<>();
+    private Deleted deleted = new Deleted();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private List<Long> assets = new ArrayList<>();
+        private List<Long> liabilities = new ArrayList<>();
+        private List<Long> budgetItems = new ArrayList<>();
+        private List<Long> assetTypes = new ArrayList<>();
+        private List<Long> liabilityTypes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,26 @@
+package com.netly.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Change notification for one user, relayed between instances over Redis pub/sub and pushed to the
+ * user's open event streams.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEvent {
+
+    public static final String DATA_CHANGED = "DATA_CHANGED";
+    public static final String SNAPSHOT_CREATED = "SNAPSHOT_CREATED";
+    public static final String REPORT_SENT = "REPORT_SENT";
+
+    private Long userId;
+    private String type;
+    private Map<String, Object> data;
+    private long timestamp;
+}
@@ -46,6 +46,10 @@ public class Asset {
 
     private String location; // For real estate
 
+    // Market instrument for price-driven revaluation (e.g. NSE:INFY)
+    @Column(length = 64)
+    private String symbol;
+
     private Boolean illiquid;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -54,6 +58,10 @@ public class Asset {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Stamped by a database trigger on every write; see SyncService
+    @Column(name = "sync_version", nullable = false, insertable = false, updatable = false)
+    private Long syncVersion;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
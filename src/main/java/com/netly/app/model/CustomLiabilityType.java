@@ -39,6 +39,10 @@ public class CustomLiabilityType {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Stamped by a database trigger on every write; see SyncService
+    @Column(name = "sync_version", nullable = false, insertable = false, updatable = false)
+    private Long syncVersion;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,34 @@
+package com.netly.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A user a job run failed for. The row is kept until a later attempt of the same run succeeds for the user.
+ */
+@Entity
+@Table(name = "job_run_failures", schema = "netly_schema")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunFailure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_run_id", nullable = false)
+    private Long jobRunId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,47 @@
+package com.netly.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted asset, liability, budget item or custom type, so sync clients can drop it locally.
+ * Rows are written by database triggers and purged after the sync retention window.
+ */
+@Entity
+@Table(name = "sync_tombstones", schema = "netly_schema")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(name = "sync_version", nullable = false, insertable = false, updatable = false)
+    private Long syncVersion;
+
+    public enum EntityType {
+        ASSET,
+        LIABILITY,
+        BUDGET_ITEM,
+        CUSTOM_ASSET_TYPE,
+        CUSTOM_LIABILITY_TYPE
+    }
+}
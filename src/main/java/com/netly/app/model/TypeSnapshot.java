@@ -0,0 +1,70 @@
+package com.netly.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user, per-date, per-type aggregate written alongside each portfolio snapshot.
+ * Type history charts read these rows instead of summing asset/liability snapshots.
+ */
+@Entity
+@Table(name = "type_snapshots", schema = "netly_schema",
+    indexes = {
+        @Index(name = "idx_type_snapshots_portfolio_snapshot_id", columnList = "portfolio_snapshot_id"),
+        @Index(name = "idx_type_snapshots_user_category_type_date", columnList = "user_id, category, type_name, snapshot_date")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "portfolio_snapshot_id", nullable = false)
+    private PortfolioSnapshot portfolioSnapshot;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private TypeCategory category; // ASSET or LIABILITY
+
+    @Column(name = "type_name", nullable = false, length = 100)
+    private String typeName;
+
+    // Sum of value_in_inr for assets, balance_in_inr for liabilities
+    @Column(name = "total_value", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalValue;
+
+    // Only applicable for assets
+    @Column(name = "total_gain", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalGain;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum TypeCategory {
+        ASSET,
+        LIABILITY
+    }
+}
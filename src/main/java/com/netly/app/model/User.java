@@ -28,8 +28,9 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    @Column(name = "secondary_emails", columnDefinition = "TEXT")
-    private String secondaryEmails;
+    // Incremented in the database on every data change (see DataVersionService); never written through the entity
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+    private Long dataVersion;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Asset> assets = new ArrayList<>();
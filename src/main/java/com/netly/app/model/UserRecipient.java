@@ -0,0 +1,34 @@
+package com.netly.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A secondary email address that receives a user's reports. Addresses are unique per user, ignoring case.
+ */
+@Entity
+@Table(name = "user_recipients", schema = "netly_schema")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRecipient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "display_order", nullable = false)
+    private Integer displayOrder;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,14 +2,84 @@ package com.netly.app.repository;
 
 import com.netly.app.model.Asset;
 import com.netly.app.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
 
     List<Asset> findByUserOrderByUpdatedAtDesc(User user);
     Optional<Asset> findByIdAndUser(Long id, User user);
+
+    @Query("SELECT a FROM Asset a JOIN FETCH a.assetType WHERE a.user = :user AND a.syncVersion > :since")
+    List<Asset> findChangedSince(@Param("user") User user, @Param("since") long since);
+
+    @Query("SELECT DISTINCT a.symbol FROM Asset a WHERE a.symbol IS NOT NULL ORDER BY a.symbol")
+    List<String> findDistinctSymbols();
+
+    /**
+     * Set current values by asset id in one statement; ids not owned by the user and unchanged values are skipped
+     */
+    @Modifying
+    @Query(value = "UPDATE netly_schema.assets a SET current_value = v.current_value, updated_at = CURRENT_TIMESTAMP " +
+           "FROM unnest(CAST(:ids AS bigint[]), CAST(:values AS numeric[])) AS v(id, current_value) " +
+           "WHERE a.id = v.id AND a.user_id = :userId AND a.current_value IS DISTINCT FROM v.current_value",
+           nativeQuery = true)
+    int updateCurrentValues(@Param("userId") Long userId,
+                            @Param("ids") Long[] ids,
+                            @Param("values") BigDecimal[] values);
+
+    /**
+     * Set current value = quantity x price for every asset of the user holding one of the symbols, in one statement
+     */
+    @Modifying
+    @Query(value = "UPDATE netly_schema.assets a SET current_value = ROUND(a.quantity * p.price, 2), " +
+           "updated_at = CURRENT_TIMESTAMP " +
+           "FROM unnest(CAST(:symbols AS varchar[]), CAST(:prices AS numeric[])) AS p(symbol, price) " +
+           "WHERE a.user_id = :userId AND a.symbol = p.symbol AND a.quantity IS NOT NULL " +
+           "AND a.current_value IS DISTINCT FROM ROUND(a.quantity * p.price, 2)",
+           nativeQuery = true)
+    int updateCurrentValuesFromPrices(@Param("userId") Long userId,
+                                      @Param("symbols") String[] symbols,
+                                      @Param("prices") BigDecimal[] prices);
+
+    /**
+     * All of a user's assets as flat rows, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS id, a.name AS name, t.typeName AS typeName, t.displayName AS typeDisplayName, " +
+           "a.currentValue AS currentValue, a.purchasePrice AS purchasePrice, a.purchaseDate AS purchaseDate, " +
+           "a.quantity AS quantity, a.description AS description, a.location AS location, a.illiquid AS illiquid, " +
+           "a.symbol AS symbol, " +
+           "a.updatedAt AS updatedAt FROM Asset a JOIN a.assetType t WHERE a.user.id = :userId ORDER BY a.id")
+    Stream<AssetExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface AssetExportRow {
+        Long getId();
+        String getName();
+        String getTypeName();
+        String getTypeDisplayName();
+        BigDecimal getCurrentValue();
+        BigDecimal getPurchasePrice();
+        LocalDate getPurchaseDate();
+        BigDecimal getQuantity();
+        String getDescription();
+        String getLocation();
+        Boolean getIlliquid();
+        String getSymbol();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -2,12 +2,18 @@ package com.netly.app.repository;
 
 import com.netly.app.model.AssetSnapshot;
 import com.netly.app.model.PortfolioSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssetSnapshotRepository extends JpaRepository<AssetSnapshot, Long> {
@@ -22,9 +28,24 @@ public interface AssetSnapshotRepository extends JpaRepository<AssetSnapshot, Lo
             @Param("snapshots") List<PortfolioSnapshot> snapshots,
             @Param("assetId") Long assetId);
 
-    @Query("SELECT a FROM AssetSnapshot a WHERE a.portfolioSnapshot IN :snapshots AND a.assetTypeName = :typeName ORDER BY a.portfolioSnapshot.snapshotDate ASC")
-    List<AssetSnapshot> findByPortfolioSnapshotsAndAssetTypeName(
-            @Param("snapshots") List<PortfolioSnapshot> snapshots,
-            @Param("typeName") String typeName);
+    /**
+     * Every asset snapshot row of a user oldest first, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ps.snapshotDate AS snapshotDate, a.assetId AS assetId, a.assetName AS assetName, " +
+           "a.assetTypeName AS assetTypeName, a.currentValue AS currentValue, a.gainLoss AS gainLoss, " +
+           "a.currency AS currency, a.valueInInr AS valueInInr FROM AssetSnapshot a JOIN a.portfolioSnapshot ps " +
+           "WHERE ps.user.id = :userId ORDER BY ps.snapshotDate ASC, a.id ASC")
+    Stream<AssetSnapshotExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface AssetSnapshotExportRow {
+        LocalDate getSnapshotDate();
+        Long getAssetId();
+        String getAssetName();
+        String getAssetTypeName();
+        BigDecimal getCurrentValue();
+        BigDecimal getGainLoss();
+        String getCurrency();
+        BigDecimal getValueInInr();
+    }
 }
-
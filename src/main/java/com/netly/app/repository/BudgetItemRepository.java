@@ -2,9 +2,17 @@ package com.netly.app.repository;
 
 import com.netly.app.model.BudgetItem;
 import com.netly.app.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BudgetItemRepository extends JpaRepository<BudgetItem, Long> {
@@ -12,5 +20,34 @@ public interface BudgetItemRepository extends JpaRepository<BudgetItem, Long> {
     List<BudgetItem> findByUserAndItemTypeOrderByDisplayOrderAsc(User user, BudgetItem.BudgetItemType itemType);
     List<BudgetItem> findByUserIdOrderByDisplayOrderAsc(Long userId);
     List<BudgetItem> findByUserIdAndItemTypeOrderByDisplayOrderAsc(Long userId, BudgetItem.BudgetItemType itemType);
-}
+    List<BudgetItem> findByUserAndSyncVersionGreaterThan(User user, Long since);
+
+    @Query("SELECT b.itemType AS itemType, b.isInvestment AS isInvestment, SUM(b.amount) AS total " +
+           "FROM BudgetItem b WHERE b.user.id = :userId GROUP BY b.itemType, b.isInvestment")
+    List<BudgetTotal> sumAmountsByType(@Param("userId") Long userId);
 
+    interface BudgetTotal {
+        BudgetItem.BudgetItemType getItemType();
+        Boolean getIsInvestment();
+        BigDecimal getTotal();
+    }
+
+    /**
+     * Budget items as flat rows, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b.id AS id, b.itemType AS itemType, b.itemName AS itemName, b.amount AS amount, " +
+           "b.isInvestment AS isInvestment, b.description AS description, b.displayOrder AS displayOrder " +
+           "FROM BudgetItem b WHERE b.user.id = :userId ORDER BY b.itemType, b.displayOrder, b.id")
+    Stream<BudgetItemExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface BudgetItemExportRow {
+        Long getId();
+        BudgetItem.BudgetItemType getItemType();
+        String getItemName();
+        BigDecimal getAmount();
+        Boolean getIsInvestment();
+        String getDescription();
+        Integer getDisplayOrder();
+    }
+}
@@ -3,6 +3,7 @@ package com.netly.app.repository;
 import com.netly.app.model.CustomAssetType;
 import com.netly.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,19 @@ public interface CustomAssetTypeRepository extends JpaRepository<CustomAssetType
     @Query("SELECT cat FROM CustomAssetType cat WHERE cat.user = :user ORDER BY cat.displayName ASC")
     List<CustomAssetType> findByUserOrderedByDisplayName(@Param("user") User user);
     boolean existsByUserAndTypeName(User user, String typeName);
+    List<CustomAssetType> findByUserAndSyncVersionGreaterThan(User user, Long since);
     @Query("SELECT COUNT(a) FROM Asset a WHERE a.assetType.id = :assetTypeId")
     Long countAssetsByAssetTypeId(@Param("assetTypeId") Long assetTypeId);
+
+    /**
+     * Insert the given types for a user in one statement, skipping names the user already has
+     */
+    @Modifying
+    @Query(value = "INSERT INTO netly_schema.custom_asset_types (user_id, type_name, display_name, description, is_active) " +
+           "SELECT :userId, t.type_name, t.display_name, 'Default ' || t.display_name || ' type', true " +
+           "FROM unnest(CAST(:typeNames AS varchar[]), CAST(:displayNames AS varchar[])) AS t(type_name, display_name) " +
+           "ON CONFLICT (user_id, type_name) DO NOTHING", nativeQuery = true)
+    int insertDefaultTypes(@Param("userId") Long userId,
+                           @Param("typeNames") String[] typeNames,
+                           @Param("displayNames") String[] displayNames);
 }
@@ -3,6 +3,7 @@ package com.netly.app.repository;
 import com.netly.app.model.CustomLiabilityType;
 import com.netly.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,19 @@ public interface CustomLiabilityTypeRepository extends JpaRepository<CustomLiabi
     @Query("SELECT clt FROM CustomLiabilityType clt WHERE clt.user = :user ORDER BY clt.displayName ASC")
     List<CustomLiabilityType> findByUserOrderedByDisplayName(@Param("user") User user);
     boolean existsByUserAndTypeName(User user, String typeName);
+    List<CustomLiabilityType> findByUserAndSyncVersionGreaterThan(User user, Long since);
     @Query("SELECT COUNT(l) FROM Liability l WHERE l.liabilityType.id = :liabilityTypeId")
     Long countLiabilitiesByLiabilityTypeId(@Param("liabilityTypeId") Long liabilityTypeId);
+
+    /**
+     * Insert the given types for a user in one statement, skipping names the user already has
+     */
+    @Modifying
+    @Query(value = "INSERT INTO netly_schema.custom_liability_types (user_id, type_name, display_name, description, is_active) " +
+           "SELECT :userId, t.type_name, t.display_name, 'Default ' || t.display_name || ' type', true " +
+           "FROM unnest(CAST(:typeNames AS varchar[]), CAST(:displayNames AS varchar[])) AS t(type_name, display_name) " +
+           "ON CONFLICT (user_id, type_name) DO NOTHING", nativeQuery = true)
+    int insertDefaultTypes(@Param("userId") Long userId,
+                           @Param("typeNames") String[] typeNames,
+                           @Param("displayNames") String[] displayNames);
 }
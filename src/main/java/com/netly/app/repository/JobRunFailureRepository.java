@@ -0,0 +1,33 @@
+package com.netly.app.repository;
+
+import com.netly.app.model.JobRunFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobRunFailureRepository extends JpaRepository<JobRunFailure, Long> {
+
+    @Query("SELECT f.userId FROM JobRunFailure f WHERE f.jobRunId = :jobRunId ORDER BY f.userId")
+    List<Long> findUserIdsByJobRunId(@Param("jobRunId") Long jobRunId);
+
+    /**
+     * Record a failure, replacing the error of an earlier failure of the same user in the run
+     */
+    @Modifying
+    @Query(value = "INSERT INTO netly_schema.job_run_failures (job_run_id, user_id, error_message, failed_at) " +
+                   "VALUES (:jobRunId, :userId, :error, :now) ON CONFLICT (job_run_id, user_id) " +
+                   "DO UPDATE SET error_message = EXCLUDED.error_message, failed_at = EXCLUDED.failed_at",
+           nativeQuery = true)
+    int upsert(@Param("jobRunId") Long jobRunId, @Param("userId") Long userId, @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM JobRunFailure f WHERE f.jobRunId = :jobRunId AND f.userId = :userId")
+    int deleteByJobRunIdAndUserId(@Param("jobRunId") Long jobRunId, @Param("userId") Long userId);
+}
@@ -0,0 +1,86 @@
+package com.netly.app.repository;
+
+import com.netly.app.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Optional<JobRun> findByJobNameAndRunKey(String jobName, String runKey);
+
+    boolean existsByJobNameAndRunKey(String jobName, String runKey);
+
+    List<JobRun> findTop50ByOrderByStartedAtDesc();
+
+    List<JobRun> findTop50ByJobNameOrderByStartedAtDesc(String jobName);
+
+    /**
+     * Runs that failed, or are marked running but whose node stopped sending heartbeats
+     */
+    @Query("SELECT r FROM JobRun r WHERE r.jobName = :jobName AND r.attempts < :maxAttempts AND (r.status = :failed " +
+           "OR (r.status = :running AND r.heartbeatAt < :staleBefore)) ORDER BY r.startedAt")
+    List<JobRun> findResumable(@Param("jobName") String jobName, @Param("staleBefore") LocalDateTime staleBefore,
+                               @Param("maxAttempts") int maxAttempts, @Param("failed") JobRun.Status failed,
+                               @Param("running") JobRun.Status running);
+
+    /**
+     * Record a new run unless one already exists for the job and run key; returns 0 if it exists
+     */
+    @Modifying
+    @Query(value = "INSERT INTO netly_schema.job_runs (job_name, run_key, status, started_at, heartbeat_at) " +
+                   "VALUES (:jobName, :runKey, 'RUNNING', :now, :now) ON CONFLICT (job_name, run_key) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName, @Param("runKey") String runKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Take over a failed or stale run; returns 0 when another node holds it
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobRun r SET r.status = :running, r.heartbeatAt = :now, r.attempts = r.attempts + 1, " +
+           "r.errorMessage = NULL WHERE r.id = :id AND (r.status = :failed " +
+           "OR (r.status = :running AND r.heartbeatAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("failed") JobRun.Status failed, @Param("running") JobRun.Status running);
+
+    /**
+     * Advance the checkpoint past a user. The attempt is the claim token: after another node has taken the
+     * run over, the update matches nothing and returns 0.
+     */
+    @Modifying
+    @Query("UPDATE JobRun r SET r.lastUserId = :userId, r.processedCount = r.processedCount + 1, " +
+           "r.successCount = r.successCount + :success, r.skippedCount = r.skippedCount + :skipped, " +
+           "r.failureCount = r.failureCount + :failure, r.heartbeatAt = :now " +
+           "WHERE r.id = :id AND r.attempts = :attempt AND r.status = :running")
+    int checkpoint(@Param("id") Long id, @Param("attempt") int attempt, @Param("userId") Long userId,
+                   @Param("success") int success, @Param("skipped") int skipped, @Param("failure") int failure,
+                   @Param("now") LocalDateTime now, @Param("running") JobRun.Status running);
+
+    /**
+     * Record the retry of a previously failed user; resolved is 1 when the user no longer fails.
+     * Returns 0 when the run has been taken over.
+     */
+    @Modifying
+    @Query("UPDATE JobRun r SET r.successCount = r.successCount + :success, r.skippedCount = r.skippedCount + :skipped, " +
+           "r.failureCount = r.failureCount - :resolved, r.heartbeatAt = :now " +
+           "WHERE r.id = :id AND r.attempts = :attempt AND r.status = :running")
+    int retried(@Param("id") Long id, @Param("attempt") int attempt, @Param("success") int success,
+                @Param("skipped") int skipped, @Param("resolved") int resolved, @Param("now") LocalDateTime now,
+                @Param("running") JobRun.Status running);
+
+    /**
+     * Returns 0 when the run has been taken over, so a stale node cannot overwrite the new owner's state
+     */
+    @Modifying
+    @Query("UPDATE JobRun r SET r.status = :status, r.finishedAt = :now, r.heartbeatAt = :now, " +
+           "r.errorMessage = :error WHERE r.id = :id AND r.attempts = :attempt")
+    int finish(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") JobRun.Status status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+}
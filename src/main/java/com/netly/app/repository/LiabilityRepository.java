@@ -2,14 +2,54 @@ package com.netly.app.repository;
 
 import com.netly.app.model.Liability;
 import com.netly.app.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LiabilityRepository extends JpaRepository<Liability, Long> {
 
     List<Liability> findByUserOrderByUpdatedAtDesc(User user);
     Optional<Liability> findByIdAndUser(Long id, User user);
+
+    @Query("SELECT l FROM Liability l JOIN FETCH l.liabilityType WHERE l.user = :user AND l.syncVersion > :since")
+    List<Liability> findChangedSince(@Param("user") User user, @Param("since") long since);
+
+    /**
+     * All of a user's liabilities as flat rows, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l.id AS id, l.name AS name, t.typeName AS typeName, t.displayName AS typeDisplayName, " +
+           "l.currentBalance AS currentBalance, l.originalAmount AS originalAmount, l.startDate AS startDate, " +
+           "l.endDate AS endDate, l.interestRate AS interestRate, l.monthlyPayment AS monthlyPayment, " +
+           "l.lender AS lender, l.description AS description, l.updatedAt AS updatedAt " +
+           "FROM Liability l JOIN l.liabilityType t WHERE l.user.id = :userId ORDER BY l.id")
+    Stream<LiabilityExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface LiabilityExportRow {
+        Long getId();
+        String getName();
+        String getTypeName();
+        String getTypeDisplayName();
+        BigDecimal getCurrentBalance();
+        BigDecimal getOriginalAmount();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        BigDecimal getInterestRate();
+        BigDecimal getMonthlyPayment();
+        String getLender();
+        String getDescription();
+        LocalDateTime getUpdatedAt();
+    }
 }
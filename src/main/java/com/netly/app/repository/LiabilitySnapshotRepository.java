@@ -2,12 +2,18 @@ package com.netly.app.repository;
 
 import com.netly.app.model.LiabilitySnapshot;
 import com.netly.app.model.PortfolioSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LiabilitySnapshotRepository extends JpaRepository<LiabilitySnapshot, Long> {
@@ -22,9 +28,23 @@ public interface LiabilitySnapshotRepository extends JpaRepository<LiabilitySnap
             @Param("snapshots") List<PortfolioSnapshot> snapshots,
             @Param("liabilityId") Long liabilityId);
 
-    @Query("SELECT l FROM LiabilitySnapshot l WHERE l.portfolioSnapshot IN :snapshots AND l.liabilityTypeName = :typeName ORDER BY l.portfolioSnapshot.snapshotDate ASC")
-    List<LiabilitySnapshot> findByPortfolioSnapshotsAndLiabilityTypeName(
-            @Param("snapshots") List<PortfolioSnapshot> snapshots,
-            @Param("typeName") String typeName);
+    /**
+     * Every liability snapshot row of a user oldest first, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ps.snapshotDate AS snapshotDate, l.liabilityId AS liabilityId, l.liabilityName AS liabilityName, " +
+           "l.liabilityTypeName AS liabilityTypeName, l.currentBalance AS currentBalance, l.currency AS currency, " +
+           "l.balanceInInr AS balanceInInr FROM LiabilitySnapshot l JOIN l.portfolioSnapshot ps " +
+           "WHERE ps.user.id = :userId ORDER BY ps.snapshotDate ASC, l.id ASC")
+    Stream<LiabilitySnapshotExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface LiabilitySnapshotExportRow {
+        LocalDate getSnapshotDate();
+        Long getLiabilityId();
+        String getLiabilityName();
+        String getLiabilityTypeName();
+        BigDecimal getCurrentBalance();
+        String getCurrency();
+        BigDecimal getBalanceInInr();
+    }
 }
-
@@ -2,14 +2,19 @@ package com.netly.app.repository;
 
 import com.netly.app.model.PortfolioSnapshot;
 import com.netly.app.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, Long> {
@@ -21,10 +26,39 @@ public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnap
 
     Optional<PortfolioSnapshot> findByUserAndSnapshotDate(User user, LocalDate snapshotDate);
 
+    boolean existsByUserIdAndSnapshotDate(Long userId, LocalDate snapshotDate);
+
     @Query("SELECT ps FROM PortfolioSnapshot ps WHERE ps.user = :user " +
            "AND ps.snapshotDate >= :startDate ORDER BY ps.snapshotDate ASC")
     List<PortfolioSnapshot> findRecentSnapshots(@Param("user") User user, @Param("startDate") LocalDate startDate);
 
+    @Query("SELECT ps.snapshotDate FROM PortfolioSnapshot ps WHERE ps.user = :user " +
+           "AND ps.snapshotDate >= :startDate ORDER BY ps.snapshotDate ASC")
+    List<LocalDate> findRecentSnapshotDates(@Param("user") User user, @Param("startDate") LocalDate startDate);
+
+    /**
+     * Each row is [PortfolioSnapshot, TypeSnapshot]; the type snapshot is null for dates without holdings.
+     */
+    @Query("SELECT ps, t FROM PortfolioSnapshot ps LEFT JOIN TypeSnapshot t ON t.portfolioSnapshot = ps " +
+           "WHERE ps.user = :user AND ps.snapshotDate >= :startDate ORDER BY ps.snapshotDate ASC")
+    List<Object[]> findRecentSnapshotsWithTypeSnapshots(@Param("user") User user, @Param("startDate") LocalDate startDate);
+
     long countByUser(User user);
-}
 
+    /**
+     * Snapshot totals oldest first, read through a JDBC cursor (call inside a transaction and close the stream)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ps.snapshotDate AS snapshotDate, ps.totalAssets AS totalAssets, ps.totalLiabilities AS totalLiabilities, " +
+           "ps.netWorth AS netWorth, ps.totalGains AS totalGains FROM PortfolioSnapshot ps " +
+           "WHERE ps.user.id = :userId ORDER BY ps.snapshotDate ASC")
+    Stream<SnapshotExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface SnapshotExportRow {
+        LocalDate getSnapshotDate();
+        BigDecimal getTotalAssets();
+        BigDecimal getTotalLiabilities();
+        BigDecimal getNetWorth();
+        BigDecimal getTotalGains();
+    }
+}
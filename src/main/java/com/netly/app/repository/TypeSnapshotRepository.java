@@ -0,0 +1,22 @@
+package com.netly.app.repository;
+
+import com.netly.app.model.TypeSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TypeSnapshotRepository extends JpaRepository<TypeSnapshot, Long> {
+
+    @Query("SELECT t FROM TypeSnapshot t WHERE t.userId = :userId AND t.category = :category " +
+           "AND t.typeName = :typeName AND t.snapshotDate >= :startDate ORDER BY t.snapshotDate ASC")
+    List<TypeSnapshot> findRecentByType(
+            @Param("userId") Long userId,
+            @Param("category") TypeSnapshot.TypeCategory category,
+            @Param("typeName") String typeName,
+            @Param("startDate") LocalDate startDate);
+}
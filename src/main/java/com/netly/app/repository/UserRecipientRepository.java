@@ -0,0 +1,35 @@
+package com.netly.app.repository;
+
+import com.netly.app.model.UserRecipient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserRecipientRepository extends JpaRepository<UserRecipient, Long> {
+
+    @Query("SELECT r.email FROM UserRecipient r WHERE r.userId = :userId ORDER BY r.displayOrder, r.id")
+    List<String> findEmailsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.userId AS userId, r.email AS email FROM UserRecipient r " +
+           "WHERE r.userId IN :userIds ORDER BY r.userId, r.displayOrder, r.id")
+    List<RecipientEmail> findEmailsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // LOWER(email) matches the expression indexes on the table
+    @Query("SELECT COUNT(r) > 0 FROM UserRecipient r WHERE r.userId = :userId AND LOWER(r.email) = LOWER(:email)")
+    boolean existsByUserIdAndEmail(@Param("userId") Long userId, @Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM UserRecipient r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    interface RecipientEmail {
+        Long getUserId();
+        String getEmail();
+    }
+}
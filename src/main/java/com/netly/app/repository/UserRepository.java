@@ -1,13 +1,58 @@
 package com.netly.app.repository;
 
 import com.netly.app.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
-}
 
+    Optional<UserDataVersion> findDataVersionByEmail(String email);
+
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findDataVersionById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :userId")
+    int incrementDataVersion(@Param("userId") Long userId);
+
+    @Query("SELECT u.id FROM User u WHERE NOT EXISTS " +
+           "(SELECT 1 FROM CustomAssetType t WHERE t.user = u) ORDER BY u.id")
+    List<Long> findIdsWithoutCustomAssetTypes();
+
+    @Query("SELECT u.id FROM User u WHERE NOT EXISTS " +
+           "(SELECT 1 FROM CustomLiabilityType t WHERE t.user = u) ORDER BY u.id")
+    List<Long> findIdsWithoutCustomLiabilityTypes();
+
+    /**
+     * Next page of users after the given id, in id order (keyset pagination)
+     */
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.dataVersion AS dataVersion " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserRef> findUserRefsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.dataVersion AS dataVersion " +
+           "FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<UserRef> findUserRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface UserRef {
+        Long getId();
+        String getName();
+        String getEmail();
+        Long getDataVersion();
+    }
+
+    interface UserDataVersion {
+        Long getId();
+        Long getDataVersion();
+    }
+}
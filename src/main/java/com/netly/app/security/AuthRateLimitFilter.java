@@ -0,0 +1,88 @@
+package com.netly.app.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Applies per-IP limits to the public auth endpoints and a global limit to OTP requests, before any
+ * user lookup, hashing or email work happens. Per-email limits live in {@code AuthService}, where the
+ * email has already been parsed from the request body.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+    private static final String REQUEST_OTP_PATH = "/api/auth/request-otp";
+
+    private final SlidingWindowRateLimiter rateLimiter;
+
+    @Value("${rate-limit.auth.per-ip.limit:30}")
+    private int perIpLimit;
+
+    @Value("${rate-limit.auth.per-ip.window.seconds:60}")
+    private long perIpWindowSeconds;
+
+    @Value("${rate-limit.otp.global.limit:300}")
+    private int otpGlobalLimit;
+
+    @Value("${rate-limit.otp.global.window.seconds:60}")
+    private long otpGlobalWindowSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !request.getRequestURI().startsWith(AUTH_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            rateLimiter.acquire("auth:ip:" + clientIp(request), perIpLimit, Duration.ofSeconds(perIpWindowSeconds));
+            if (REQUEST_OTP_PATH.equals(request.getRequestURI())) {
+                rateLimiter.acquire("otp:global", otpGlobalLimit, Duration.ofSeconds(otpGlobalWindowSeconds));
+            }
+        } catch (RateLimitExceededException e) {
+            log.warn("Rejected {} from {}: {}", request.getRequestURI(), clientIp(request), e.getMessage());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Trusts X-Real-IP only from the local nginx proxy, so clients cannot pick their own bucket.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String realIp = request.getHeader("X-Real-IP");
+        if (realIp != null && !realIp.isBlank() && isLoopback(remoteAddr)) {
+            return realIp.trim();
+        }
+        return remoteAddr;
+    }
+
+    private boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
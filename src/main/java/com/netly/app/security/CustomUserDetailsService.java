@@ -3,19 +3,42 @@ package com.netly.app.security;
 import com.netly.app.model.User;
 import com.netly.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final String ADMIN_ROLE = "ADMIN";
 
     private final UserRepository userRepository;
 
+    // Operators allowed to read the actuator endpoints (job run history, metrics)
+    private Set<String> adminEmails = Set.of();
+
+    @Value("${security.admin.emails:}")
+    public void setAdminEmails(String adminEmails) {
+        this.adminEmails = Arrays.stream(adminEmails.split(","))
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
@@ -24,7 +47,32 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                new ArrayList<>()
+                authoritiesFor(user)
+        );
+    }
+
+    private List<GrantedAuthority> authoritiesFor(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (adminEmails.contains(user.getEmail().toLowerCase(Locale.ROOT))) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+        }
+        return authorities;
+    }
+
+    /**
+     * Store a re-hashed password (called by the authentication provider after a successful login)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = loadUserEntityByEmail(userDetails.getUsername());
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                newPassword,
+                userDetails.getAuthorities()
         );
     }
 
@@ -0,0 +1,11 @@
+package com.netly.app.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; mapped to 429 by the auth endpoints.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
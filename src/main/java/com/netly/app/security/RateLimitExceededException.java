@@ -0,0 +1,18 @@
+package com.netly.app.security;
+
+/**
+ * Thrown when a caller exceeds a rate limit; mapped to 429 with a Retry-After header.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,137 @@
+package com.netly.app.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window counters shared across instances through Redis. Each bucket keeps a counter per fixed
+ * window and weights the previous window by how much of it still overlaps the sliding window; the check
+ * and increment run as one Lua script so concurrent requests cannot both slip under the limit.
+ * <p>
+ * If Redis errors or answers slower than {@code rate-limit.redis.slow-call.millis}, limits are enforced
+ * per instance from memory for {@code rate-limit.redis.fallback.seconds} so a struggling Redis adds no
+ * latency to the auth endpoints.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlidingWindowRateLimiter {
+
+    private static final String KEY_PREFIX = "netly-rate:";
+    private static final int MAX_LOCAL_BUCKETS = 10_000;
+
+    // KEYS[1] = current window, KEYS[2] = previous window; ARGV = limit, window millis, elapsed millis.
+    // Returns 0 when the hit is recorded, otherwise the millis until the current window rolls over.
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            "local limit = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) " +
+            "local elapsed = tonumber(ARGV[3]) " +
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local previous = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "if previous * (window - elapsed) / window + current + 1 > limit then " +
+            "  return window - elapsed " +
+            "end " +
+            "redis.call('INCR', KEYS[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], window * 2) " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final ConcurrentHashMap<String, LocalWindow> localWindows = new ConcurrentHashMap<>();
+    private volatile long redisBypassedUntil;
+
+    @Value("${rate-limit.redis.slow-call.millis:100}")
+    private long slowCallMillis;
+
+    @Value("${rate-limit.redis.fallback.seconds:30}")
+    private long fallbackSeconds;
+
+    /**
+     * Records one hit against the bucket, or throws {@link RateLimitExceededException} if it is over the limit.
+     */
+    public void acquire(String bucket, int limit, Duration window) {
+        long windowMillis = window.toMillis();
+        long now = System.currentTimeMillis();
+        long windowIndex = now / windowMillis;
+        long elapsed = now - windowIndex * windowMillis;
+
+        long retryAfterMillis = now >= redisBypassedUntil
+                ? acquireInRedis(bucket, windowIndex, limit, windowMillis, elapsed)
+                : acquireLocally(bucket, limit, windowMillis, now);
+
+        if (retryAfterMillis > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded for " + bucket,
+                    TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999));
+        }
+    }
+
+    private long acquireInRedis(String bucket, long windowIndex, int limit, long windowMillis, long elapsed) {
+        String keyBase = KEY_PREFIX + bucket + ":";
+        long started = System.nanoTime();
+        try {
+            Long retryAfterMillis = redisTemplate.execute(SLIDING_WINDOW_SCRIPT,
+                    List.of(keyBase + windowIndex, keyBase + (windowIndex - 1)),
+                    String.valueOf(limit), String.valueOf(windowMillis), String.valueOf(elapsed));
+
+            long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (tookMillis > slowCallMillis) {
+                bypassRedis("Redis rate limit call took " + tookMillis + " ms");
+            }
+            return retryAfterMillis != null ? retryAfterMillis : 0;
+        } catch (DataAccessException e) {
+            bypassRedis("Redis rate limit call failed: " + e.getMessage());
+            return acquireLocally(bucket, limit, windowMillis, System.currentTimeMillis());
+        }
+    }
+
+    private long acquireLocally(String bucket, int limit, long windowMillis, long now) {
+        if (localWindows.size() > MAX_LOCAL_BUCKETS) {
+            // Only used while Redis is unavailable; dropping state is preferable to unbounded growth
+            localWindows.clear();
+        }
+        return localWindows.computeIfAbsent(bucket, key -> new LocalWindow())
+                .tryAcquire(limit, windowMillis, now);
+    }
+
+    private void bypassRedis(String reason) {
+        redisBypassedUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(fallbackSeconds);
+        log.warn("{}; enforcing rate limits locally for {} seconds", reason, fallbackSeconds);
+    }
+
+    /**
+     * In-memory equivalent of the Lua script, used while Redis is bypassed.
+     */
+    private static final class LocalWindow {
+
+        private long windowIndex;
+        private long current;
+        private long previous;
+
+        synchronized long tryAcquire(int limit, long windowMillis, long now) {
+            long index = now / windowMillis;
+            if (index != windowIndex) {
+                previous = index == windowIndex + 1 ? current : 0;
+                current = 0;
+                windowIndex = index;
+            }
+            long elapsed = now - index * windowMillis;
+            if (previous * (double) (windowMillis - elapsed) / windowMillis + current + 1 > limit) {
+                return windowMillis - elapsed;
+            }
+            current++;
+            return 0;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.netly.app.service;
 
 import com.netly.app.dto.AssetDTO;
+import com.netly.app.dto.AssetRevaluationRequest;
+import com.netly.app.dto.AssetRevaluationResponse;
+import com.netly.app.dto.CustomAssetTypeDTO;
 import com.netly.app.dto.PortfolioSummaryDTO;
 import com.netly.app.model.Asset;
 import com.netly.app.model.CustomAssetType;
@@ -16,7 +19,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -28,6 +33,8 @@ public class AssetService {
     private final LiabilityRepository liabilityRepository;
     private final UserRepository userRepository;
     private final CustomAssetTypeRepository customAssetTypeRepository;
+    private final DataVersionService dataVersionService;
+    private final CustomTypeCatalogService typeCatalogService;
 
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -52,6 +59,16 @@ public class AssetService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Assets written after the given sync version (used by delta sync)
+     */
+    @Transactional(readOnly = true)
+    public List<AssetDTO> getAssetsChangedSince(User user, long sinceVersion) {
+        return assetRepository.findChangedSince(user, sinceVersion).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public AssetDTO getAssetById(Long id) {
         User currentUser = getCurrentUser();
@@ -63,17 +80,13 @@ public class AssetService {
     @Transactional
     public AssetDTO createAsset(AssetDTO assetDTO) {
         User currentUser = getCurrentUser();
-        CustomAssetType assetType = customAssetTypeRepository.findById(assetDTO.getCustomAssetTypeId())
-                .orElseThrow(() -> new RuntimeException("Asset type not found with id: " + assetDTO.getCustomAssetTypeId()));
-
-        if (!assetType.getUser().equals(currentUser)) {
-            throw new RuntimeException("Asset type does not belong to current user");
-        }
+        CustomAssetTypeDTO assetType = resolveAssetType(currentUser, assetDTO.getCustomAssetTypeId());
 
-        Asset asset = convertToEntity(assetDTO, assetType);
+        Asset asset = convertToEntity(assetDTO, customAssetTypeRepository.getReferenceById(assetType.getId()));
         asset.setUser(currentUser);
         Asset savedAsset = assetRepository.save(asset);
-        return convertToDTO(savedAsset);
+        dataVersionService.bump(currentUser.getId());
+        return convertToDTO(savedAsset, assetType);
     }
 
     @Transactional
@@ -82,25 +95,22 @@ public class AssetService {
         Asset existingAsset = assetRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new RuntimeException("Asset not found with id: " + id));
 
-        CustomAssetType assetType = customAssetTypeRepository.findById(assetDTO.getCustomAssetTypeId())
-                .orElseThrow(() -> new RuntimeException("Asset type not found with id: " + assetDTO.getCustomAssetTypeId()));
-
-        if (!assetType.getUser().equals(currentUser)) {
-            throw new RuntimeException("Asset type does not belong to current user");
-        }
+        CustomAssetTypeDTO assetType = resolveAssetType(currentUser, assetDTO.getCustomAssetTypeId());
 
         existingAsset.setName(assetDTO.getName());
-        existingAsset.setAssetType(assetType);
+        existingAsset.setAssetType(customAssetTypeRepository.getReferenceById(assetType.getId()));
         existingAsset.setCurrentValue(assetDTO.getCurrentValue());
         existingAsset.setPurchasePrice(assetDTO.getPurchasePrice());
         existingAsset.setPurchaseDate(assetDTO.getPurchaseDate());
         existingAsset.setQuantity(assetDTO.getQuantity());
         existingAsset.setDescription(assetDTO.getDescription());
         existingAsset.setLocation(assetDTO.getLocation());
+        existingAsset.setSymbol(normalizeSymbol(assetDTO.getSymbol()));
         existingAsset.setIlliquid(assetDTO.getIlliquid());
 
         Asset updatedAsset = assetRepository.save(existingAsset);
-        return convertToDTO(updatedAsset);
+        dataVersionService.bump(currentUser.getId());
+        return convertToDTO(updatedAsset, assetType);
     }
 
     @Transactional
@@ -109,6 +119,52 @@ public class AssetService {
         Asset asset = assetRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new RuntimeException("Asset not found with id: " + id));
         assetRepository.delete(asset);
+        dataVersionService.bump(currentUser.getId());
+    }
+
+    /**
+     * Apply new asset values by id and by symbol price, each as a single batched UPDATE, and return the
+     * resulting summary. Unknown ids and symbols are ignored.
+     */
+    @Transactional
+    public AssetRevaluationResponse revalueAssets(AssetRevaluationRequest request) {
+        User currentUser = getCurrentUser();
+        int updated = 0;
+
+        // Later entries win when an asset or symbol is listed twice
+        Map<Long, BigDecimal> valuesById = new LinkedHashMap<>();
+        if (request.getValues() != null) {
+            for (AssetRevaluationRequest.AssetValue value : request.getValues()) {
+                if (value.getAssetId() == null) {
+                    throw new RuntimeException("Asset id is required");
+                }
+                valuesById.put(value.getAssetId(), requireNonNegative(value.getCurrentValue(), "current value"));
+            }
+        }
+        if (!valuesById.isEmpty()) {
+            updated += assetRepository.updateCurrentValues(currentUser.getId(),
+                    valuesById.keySet().toArray(new Long[0]), valuesById.values().toArray(new BigDecimal[0]));
+        }
+
+        Map<String, BigDecimal> pricesBySymbol = new LinkedHashMap<>();
+        if (request.getPrices() != null) {
+            for (AssetRevaluationRequest.SymbolPrice price : request.getPrices()) {
+                String symbol = normalizeSymbol(price.getSymbol());
+                if (symbol == null) {
+                    throw new RuntimeException("Symbol is required");
+                }
+                pricesBySymbol.put(symbol, requireNonNegative(price.getPrice(), "price"));
+            }
+        }
+        if (!pricesBySymbol.isEmpty()) {
+            updated += assetRepository.updateCurrentValuesFromPrices(currentUser.getId(),
+                    pricesBySymbol.keySet().toArray(new String[0]), pricesBySymbol.values().toArray(new BigDecimal[0]));
+        }
+
+        if (updated > 0) {
+            dataVersionService.bump(currentUser.getId());
+        }
+        return new AssetRevaluationResponse(updated, getPortfolioSummaryForUser(currentUser.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -196,19 +252,32 @@ public class AssetService {
         return breakdown;
     }
 
+    /**
+     * Resolve a type id against the current user's cached type catalog
+     */
+    private CustomAssetTypeDTO resolveAssetType(User user, Long assetTypeId) {
+        return typeCatalogService.getAssetTypes(user).findById(assetTypeId)
+                .orElseThrow(() -> new RuntimeException("Asset type not found with id: " + assetTypeId));
+    }
+
     private AssetDTO convertToDTO(Asset asset) {
+        return convertToDTO(asset, CustomTypeCatalogService.toAssetTypeDTO(asset.getAssetType()));
+    }
+
+    private AssetDTO convertToDTO(Asset asset, CustomAssetTypeDTO assetType) {
         AssetDTO dto = new AssetDTO();
         dto.setId(asset.getId());
         dto.setName(asset.getName());
-        dto.setCustomAssetTypeId(asset.getAssetType().getId());
-        dto.setAssetTypeName(asset.getAssetType().getTypeName());
-        dto.setAssetTypeDisplayName(asset.getAssetType().getDisplayName());
+        dto.setCustomAssetTypeId(assetType.getId());
+        dto.setAssetTypeName(assetType.getTypeName());
+        dto.setAssetTypeDisplayName(assetType.getDisplayName());
         dto.setCurrentValue(asset.getCurrentValue());
         dto.setPurchasePrice(asset.getPurchasePrice());
         dto.setPurchaseDate(asset.getPurchaseDate());
         dto.setQuantity(asset.getQuantity());
         dto.setDescription(asset.getDescription());
         dto.setLocation(asset.getLocation());
+        dto.setSymbol(asset.getSymbol());
         dto.setIlliquid(asset.getIlliquid());
         dto.setGainLoss(asset.getGainLoss());
         dto.setGainLossPercentage(asset.getGainLossPercentage());
@@ -216,6 +285,27 @@ public class AssetService {
         return dto;
     }
 
+    private static BigDecimal requireNonNegative(BigDecimal value, String field) {
+        if (value == null || value.signum() < 0) {
+            throw new RuntimeException("A non-negative " + field + " is required");
+        }
+        return value;
+    }
+
+    /**
+     * Symbols are stored trimmed and upper-case; blank means none
+     */
+    static String normalizeSymbol(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return null;
+        }
+        String normalized = symbol.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() > 64) {
+            throw new RuntimeException("Symbol must be at most 64 characters");
+        }
+        return normalized;
+    }
+
     private Asset convertToEntity(AssetDTO dto, CustomAssetType assetType) {
         Asset asset = new Asset();
         asset.setName(dto.getName());
@@ -226,6 +316,7 @@ public class AssetService {
         asset.setQuantity(dto.getQuantity());
         asset.setDescription(dto.getDescription());
         asset.setLocation(dto.getLocation());
+        asset.setSymbol(normalizeSymbol(dto.getSymbol()));
         asset.setIlliquid(dto.getIlliquid());
         return asset;
     }
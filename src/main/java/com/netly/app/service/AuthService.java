@@ -6,7 +6,10 @@ import com.netly.app.dto.SignupRequest;
 import com.netly.app.model.User;
 import com.netly.app.repository.UserRepository;
 import com.netly.app.security.JwtUtil;
+import com.netly.app.security.SlidingWindowRateLimiter;
+import com.netly.app.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +17,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -24,6 +29,20 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final OtpService otpService;
+    private final SlidingWindowRateLimiter rateLimiter;
+    private final DefaultTypeProvisioningService defaultTypeProvisioningService;
+
+    @Value("${rate-limit.login.per-email.limit:10}")
+    private int loginPerEmailLimit;
+
+    @Value("${rate-limit.login.per-email.window.seconds:900}")
+    private long loginPerEmailWindowSeconds;
+
+    @Value("${rate-limit.otp.per-email.limit:5}")
+    private int otpPerEmailLimit;
+
+    @Value("${rate-limit.otp.per-email.window.seconds:3600}")
+    private long otpPerEmailWindowSeconds;
 
     public AuthResponse signup(SignupRequest request) {
         // Check if user already exists
@@ -37,7 +56,8 @@ public class AuthService {
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        User savedUser = userRepository.save(user);
+        // Default asset/liability types are created with the user, so config reads never write
+        User savedUser = defaultTypeProvisioningService.saveNewUser(user);
 
         // Generate token
         UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
@@ -49,6 +69,9 @@ public class AuthService {
     public AuthResponse login(LoginRequest request) {
         // Check if password is provided (password-based login)
         if (request.getPassword() != null && !request.getPassword().trim().isEmpty()) {
+            rateLimiter.acquire("login:email:" + EmailNormalizer.normalize(request.getEmail()),
+                    loginPerEmailLimit, Duration.ofSeconds(loginPerEmailWindowSeconds));
+
             // Authenticate user with password
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
@@ -70,6 +93,10 @@ public class AuthService {
     }
 
     public void requestOtp(String email) {
+        // Counted before the user lookup so unknown emails are limited too
+        rateLimiter.acquire("otp:email:" + EmailNormalizer.normalize(email),
+                otpPerEmailLimit, Duration.ofSeconds(otpPerEmailWindowSeconds));
+
         // Verify user exists
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -0,0 +1,186 @@
+package com.netly.app.service;
+
+import com.netly.app.model.JobRun;
+import com.netly.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a job over all users with a checkpoint in job_runs after every user. A run interrupted by a restart
+ * or failure is taken over later and continues after the last checkpointed user, and a completed run
+ * for the same key is never repeated. Users the job failed for are recorded and retried first when the
+ * run is resumed; a run that still has failed users ends FAILED so it is resumed again, up to the
+ * configured number of attempts. A node that finds its run taken over by another node stops at once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchJobRunner {
+
+    private final JobRunService jobRunService;
+    private final UserBatchService userBatchService;
+    private final UserRepository userRepository;
+
+    @Value("${batch.users.page.size:500}")
+    private int pageSize;
+
+    public interface UserJob {
+
+        /**
+         * Called once for each page before its users are processed, e.g. to bulk-load related data
+         */
+        default void preparePage(List<UserRepository.UserRef> page) {
+        }
+
+        /**
+         * Process one user; returns false when the user was skipped because the work is already done
+         */
+        boolean process(UserRepository.UserRef user) throws Exception;
+    }
+
+    /**
+     * Result of processing one user: a success, a skip, or a failure with its error
+     */
+    private static final class Outcome {
+
+        static final Outcome SUCCESS = new Outcome(1, 0, null);
+        static final Outcome SKIPPED = new Outcome(0, 1, null);
+
+        final int success;
+        final int skipped;
+        final String error;
+
+        Outcome(int success, int skipped, String error) {
+            this.success = success;
+            this.skipped = skipped;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Thrown out of the page loop when a checkpoint finds the run claimed by another node
+     */
+    private static class RunTakenOverException extends RuntimeException {
+    }
+
+    /**
+     * Run or resume the job for a run key. Returns the finished run, or empty when the run was skipped
+     * because it has completed or is running on another node, or was taken over while running.
+     */
+    public Optional<JobRun> run(String jobName, String runKey, UserJob job) {
+        Optional<JobRun> claimed = jobRunService.start(jobName, runKey);
+        if (claimed.isEmpty()) {
+            log.info("Job {} run {} has completed or is running elsewhere, skipping", jobName, runKey);
+            return Optional.empty();
+        }
+
+        JobRun run = claimed.get();
+        if (run.getLastUserId() > 0) {
+            log.info("Resuming job {} run {} after user {} (attempt {})", jobName, runKey, run.getLastUserId(), run.getAttempts());
+        } else {
+            log.info("Starting job {} run {}", jobName, runKey);
+        }
+
+        long start = System.nanoTime();
+        boolean finished;
+        try {
+            retryFailedUsers(jobName, run, job);
+            userBatchService.forEachPage(run.getLastUserId(), page -> {
+                job.preparePage(page);
+                for (UserRepository.UserRef user : page) {
+                    Outcome outcome = process(jobName, job, user);
+                    if (!jobRunService.checkpoint(run, user.getId(), outcome.success, outcome.skipped,
+                            outcome.error != null ? 1 : 0, outcome.error)) {
+                        throw new RunTakenOverException();
+                    }
+                }
+            });
+
+            int failedUsers = jobRunService.getFailedUserIds(run.getId()).size();
+            finished = failedUsers == 0
+                    ? jobRunService.finish(run, JobRun.Status.COMPLETED, null)
+                    : jobRunService.finish(run, JobRun.Status.FAILED, failedUsers + " users failed");
+        } catch (RunTakenOverException e) {
+            finished = false;
+        } catch (RuntimeException e) {
+            log.error("Job {} run {} failed, it will resume from its last checkpoint", jobName, runKey, e);
+            finished = jobRunService.finish(run, JobRun.Status.FAILED, e.getMessage());
+        }
+
+        if (!finished) {
+            log.warn("Job {} run {} was taken over by another node during attempt {}, stopping", jobName, runKey,
+                    run.getAttempts());
+            return Optional.empty();
+        }
+
+        Optional<JobRun> result = jobRunService.getRun(run.getId());
+        result.ifPresent(r -> log.info("Job {} run {} {} in {} ms. Processed: {}, Success: {}, Skipped: {}, Failed: {}",
+                jobName, runKey, r.getStatus(), (System.nanoTime() - start) / 1_000_000, r.getProcessedCount(),
+                r.getSuccessCount(), r.getSkippedCount(), r.getFailureCount()));
+        return result;
+    }
+
+    /**
+     * Run keys of failed or abandoned runs of a job, oldest first
+     */
+    public List<String> findResumableRunKeys(String jobName) {
+        return jobRunService.findResumable(jobName).stream()
+                .map(JobRun::getRunKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether a run was never started, e.g. because no node was up when its cron fired
+     */
+    public boolean isMissed(String jobName, String runKey) {
+        return !jobRunService.exists(jobName, runKey);
+    }
+
+    /**
+     * Process the users earlier attempts of this run failed for, before continuing after the checkpoint
+     */
+    private void retryFailedUsers(String jobName, JobRun run, UserJob job) {
+        List<Long> failedUserIds = jobRunService.getFailedUserIds(run.getId());
+        if (failedUserIds.isEmpty()) {
+            return;
+        }
+        log.info("Retrying {} failed users of job {} run {}", failedUserIds.size(), jobName, run.getRunKey());
+
+        for (int from = 0; from < failedUserIds.size(); from += pageSize) {
+            List<Long> pageIds = failedUserIds.subList(from, Math.min(from + pageSize, failedUserIds.size()));
+            List<UserRepository.UserRef> page = userRepository.findUserRefsByIdIn(pageIds);
+            job.preparePage(page);
+            Set<Long> found = new HashSet<>();
+            for (UserRepository.UserRef user : page) {
+                found.add(user.getId());
+                Outcome outcome = process(jobName, job, user);
+                if (!jobRunService.retried(run, user.getId(), outcome.success, outcome.skipped, outcome.error)) {
+                    throw new RunTakenOverException();
+                }
+            }
+            // Users deleted since they failed have nothing left to retry
+            for (Long userId : pageIds) {
+                if (!found.contains(userId) && !jobRunService.retried(run, userId, 0, 1, null)) {
+                    throw new RunTakenOverException();
+                }
+            }
+        }
+    }
+
+    private Outcome process(String jobName, UserJob job, UserRepository.UserRef user) {
+        try {
+            return job.process(user) ? Outcome.SUCCESS : Outcome.SKIPPED;
+        } catch (Exception e) {
+            log.error("Job {} failed for user {} ({})", jobName, user.getId(), user.getEmail(), e);
+            return new Outcome(0, 0, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.netly.app.service;
 
+import com.netly.app.dto.BudgetBulkRequest;
+import com.netly.app.dto.BudgetBulkResponse;
 import com.netly.app.dto.BudgetItemDTO;
 import com.netly.app.dto.BudgetSummaryDTO;
 import com.netly.app.model.BudgetItem;
@@ -11,9 +13,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +27,8 @@ public class BudgetService {
 
     private final BudgetItemRepository budgetItemRepository;
     private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final BudgetSummaryService budgetSummaryService;
 
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -48,6 +55,16 @@ public class BudgetService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Budget items written after the given sync version (used by delta sync)
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetItemDTO> getBudgetItemsChangedSince(User user, long sinceVersion) {
+        return budgetItemRepository.findByUserAndSyncVersionGreaterThan(user, sinceVersion).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public BudgetItemDTO getBudgetItemById(Long id) {
         User user = getCurrentUser();
@@ -67,14 +84,10 @@ public class BudgetService {
 
         BudgetItem item = new BudgetItem();
         item.setUser(user);
-        item.setItemType(BudgetItem.BudgetItemType.valueOf(budgetItemDTO.getItemType()));
-        item.setItemName(budgetItemDTO.getItemName());
-        item.setAmount(budgetItemDTO.getAmount());
-        item.setIsInvestment(budgetItemDTO.getIsInvestment() != null ? budgetItemDTO.getIsInvestment() : false);
-        item.setDescription(budgetItemDTO.getDescription());
-        item.setDisplayOrder(budgetItemDTO.getDisplayOrder());
+        applyFields(item, budgetItemDTO);
 
         BudgetItem savedItem = budgetItemRepository.save(item);
+        dataVersionService.bump(user.getId());
         return convertToDTO(savedItem);
     }
 
@@ -88,14 +101,10 @@ public class BudgetService {
             throw new RuntimeException("Unauthorized access");
         }
 
-        item.setItemType(BudgetItem.BudgetItemType.valueOf(budgetItemDTO.getItemType()));
-        item.setItemName(budgetItemDTO.getItemName());
-        item.setAmount(budgetItemDTO.getAmount());
-        item.setIsInvestment(budgetItemDTO.getIsInvestment() != null ? budgetItemDTO.getIsInvestment() : false);
-        item.setDescription(budgetItemDTO.getDescription());
-        item.setDisplayOrder(budgetItemDTO.getDisplayOrder());
+        applyFields(item, budgetItemDTO);
 
         BudgetItem updatedItem = budgetItemRepository.save(item);
+        dataVersionService.bump(user.getId());
         return convertToDTO(updatedItem);
     }
 
@@ -110,61 +119,89 @@ public class BudgetService {
         }
 
         budgetItemRepository.delete(item);
+        dataVersionService.bump(user.getId());
     }
 
-    @Transactional(readOnly = true)
-    public BudgetSummaryDTO getBudgetSummary() {
+    /**
+     * Apply a batch of deletes, updates, reorders and creates in one transaction and return the resulting
+     * items and summary. The user's items are loaded once for ownership checks, and the data version is
+     * bumped once for the whole batch.
+     */
+    @Transactional
+    public BudgetBulkResponse applyBulkChanges(BudgetBulkRequest request) {
         User user = getCurrentUser();
-        List<BudgetItem> items = budgetItemRepository.findByUserOrderByDisplayOrderAsc(user);
+        Map<Long, BudgetItem> itemsById = budgetItemRepository.findByUserOrderByDisplayOrderAsc(user).stream()
+                .collect(Collectors.toMap(BudgetItem::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        boolean changed = false;
+
+        List<BudgetItem> deleted = new ArrayList<>();
+        for (Long id : nullToEmpty(request.getDeletes())) {
+            deleted.add(findOwnedItem(itemsById, id));
+        }
+        if (!deleted.isEmpty()) {
+            budgetItemRepository.deleteAll(deleted);
+            deleted.forEach(item -> itemsById.remove(item.getId()));
+            changed = true;
+        }
 
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        BigDecimal totalInvestments = BigDecimal.ZERO;
-        BigDecimal totalNonInvestmentExpenses = BigDecimal.ZERO;
-
-        for (BudgetItem item : items) {
-            if (item.getItemType() == BudgetItem.BudgetItemType.INCOME) {
-                totalIncome = totalIncome.add(item.getAmount());
-            } else if (item.getItemType() == BudgetItem.BudgetItemType.EXPENSE) {
-                totalExpenses = totalExpenses.add(item.getAmount());
-                if (item.getIsInvestment()) {
-                    totalInvestments = totalInvestments.add(item.getAmount());
-                } else {
-                    totalNonInvestmentExpenses = totalNonInvestmentExpenses.add(item.getAmount());
-                }
-            }
+        for (BudgetItemDTO update : nullToEmpty(request.getUpdates())) {
+            applyFields(findOwnedItem(itemsById, update.getId()), update);
+            changed = true;
         }
 
-        BigDecimal totalSurplus = totalIncome.subtract(totalExpenses);
-
-        BudgetSummaryDTO summary = new BudgetSummaryDTO();
-        summary.setTotalIncome(totalIncome);
-        summary.setTotalExpenses(totalExpenses);
-        summary.setTotalInvestments(totalInvestments);
-        summary.setTotalNonInvestmentExpenses(totalNonInvestmentExpenses);
-        summary.setTotalSurplus(totalSurplus);
-
-        // Calculate percentages
-        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
-            summary.setInvestmentPercentage(
-                totalInvestments.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-            summary.setNonInvestmentExpensePercentage(
-                totalNonInvestmentExpenses.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-            summary.setSurplusOrDeficitRate(
-                totalSurplus.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-        } else {
-            summary.setInvestmentPercentage(BigDecimal.ZERO);
-            summary.setNonInvestmentExpensePercentage(BigDecimal.ZERO);
-            summary.setSurplusOrDeficitRate(BigDecimal.ZERO);
+        for (BudgetBulkRequest.Reorder reorder : nullToEmpty(request.getReorders())) {
+            findOwnedItem(itemsById, reorder.getId()).setDisplayOrder(reorder.getDisplayOrder());
+            changed = true;
         }
 
-        return summary;
+        List<BudgetItem> created = new ArrayList<>();
+        for (BudgetItemDTO create : nullToEmpty(request.getCreates())) {
+            BudgetItem item = new BudgetItem();
+            item.setUser(user);
+            applyFields(item, create);
+            created.add(item);
+        }
+        if (!created.isEmpty()) {
+            budgetItemRepository.saveAll(created).forEach(item -> itemsById.put(item.getId(), item));
+            changed = true;
+        }
+
+        if (changed) {
+            budgetItemRepository.flush();
+            dataVersionService.bump(user.getId());
+        }
+
+        List<BudgetItemDTO> items = itemsById.values().stream()
+                .sorted(Comparator.comparing(BudgetItem::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new BudgetBulkResponse(items, budgetSummaryService.calculateSummary(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public BudgetSummaryDTO getBudgetSummary() {
+        return budgetSummaryService.getSummary(getCurrentUser());
+    }
+
+    private BudgetItem findOwnedItem(Map<Long, BudgetItem> itemsById, Long id) {
+        BudgetItem item = id != null ? itemsById.get(id) : null;
+        if (item == null) {
+            throw new RuntimeException("Budget item not found");
+        }
+        return item;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    private void applyFields(BudgetItem item, BudgetItemDTO budgetItemDTO) {
+        item.setItemType(BudgetItem.BudgetItemType.valueOf(budgetItemDTO.getItemType()));
+        item.setItemName(budgetItemDTO.getItemName());
+        item.setAmount(budgetItemDTO.getAmount());
+        item.setIsInvestment(budgetItemDTO.getIsInvestment() != null ? budgetItemDTO.getIsInvestment() : false);
+        item.setDescription(budgetItemDTO.getDescription());
+        item.setDisplayOrder(budgetItemDTO.getDisplayOrder());
     }
 
     private BudgetItemDTO convertToDTO(BudgetItem item) {
@@ -0,0 +1,128 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.BudgetSummaryDTO;
+import com.netly.app.model.BudgetItem;
+import com.netly.app.model.User;
+import com.netly.app.repository.BudgetItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Budget summary shared by the budget API and the budget report. Totals come from one grouped
+ * aggregate query; results are cached per user against the user's data version, which every budget
+ * mutation bumps, so a cached summary is never served for newer data.
+ */
+@Service
+public class BudgetSummaryService {
+
+    private final BudgetItemRepository budgetItemRepository;
+    private final Map<Long, CachedSummary> summaries;
+
+    public BudgetSummaryService(BudgetItemRepository budgetItemRepository,
+                                @Value("${budget.summary.cache.max.users:10000}") int maxUsers) {
+        this.budgetItemRepository = budgetItemRepository;
+        this.summaries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSummary> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Summary for a user loaded in the current request; served from cache while its data version is unchanged
+     */
+    @Transactional(readOnly = true)
+    public BudgetSummaryDTO getSummary(User user) {
+        Long dataVersion = user.getDataVersion();
+        CachedSummary cached = summaries.get(user.getId());
+        if (cached != null && Objects.equals(cached.dataVersion, dataVersion)) {
+            return copyOf(cached.summary);
+        }
+
+        // The version is read before the totals, so a cached entry never holds data older than its version
+        BudgetSummaryDTO summary = calculateSummary(user.getId());
+        summaries.put(user.getId(), new CachedSummary(dataVersion, summary));
+        return copyOf(summary);
+    }
+
+    /**
+     * Uncached summary, for callers that have just modified budget items in the current transaction
+     */
+    @Transactional(readOnly = true)
+    public BudgetSummaryDTO calculateSummary(Long userId) {
+        return summarize(budgetItemRepository.sumAmountsByType(userId));
+    }
+
+    private BudgetSummaryDTO summarize(List<BudgetItemRepository.BudgetTotal> totals) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalInvestments = BigDecimal.ZERO;
+        BigDecimal totalNonInvestmentExpenses = BigDecimal.ZERO;
+
+        for (BudgetItemRepository.BudgetTotal total : totals) {
+            if (total.getItemType() == BudgetItem.BudgetItemType.INCOME) {
+                totalIncome = totalIncome.add(total.getTotal());
+            } else if (total.getItemType() == BudgetItem.BudgetItemType.EXPENSE) {
+                if (Boolean.TRUE.equals(total.getIsInvestment())) {
+                    totalInvestments = totalInvestments.add(total.getTotal());
+                } else {
+                    totalNonInvestmentExpenses = totalNonInvestmentExpenses.add(total.getTotal());
+                }
+            }
+        }
+
+        BigDecimal totalExpenses = totalInvestments.add(totalNonInvestmentExpenses);
+        BigDecimal totalSurplus = totalIncome.subtract(totalExpenses);
+
+        BudgetSummaryDTO summary = new BudgetSummaryDTO();
+        summary.setTotalIncome(totalIncome);
+        summary.setTotalExpenses(totalExpenses);
+        summary.setTotalInvestments(totalInvestments);
+        summary.setTotalNonInvestmentExpenses(totalNonInvestmentExpenses);
+        summary.setTotalSurplus(totalSurplus);
+
+        // Calculate percentages
+        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
+            summary.setInvestmentPercentage(percentOf(totalInvestments, totalIncome));
+            summary.setNonInvestmentExpensePercentage(percentOf(totalNonInvestmentExpenses, totalIncome));
+            summary.setSurplusOrDeficitRate(percentOf(totalSurplus, totalIncome));
+        } else {
+            summary.setInvestmentPercentage(BigDecimal.ZERO);
+            summary.setNonInvestmentExpensePercentage(BigDecimal.ZERO);
+            summary.setSurplusOrDeficitRate(BigDecimal.ZERO);
+        }
+
+        return summary;
+    }
+
+    private BigDecimal percentOf(BigDecimal value, BigDecimal total) {
+        return value.divide(total, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    private BudgetSummaryDTO copyOf(BudgetSummaryDTO summary) {
+        return new BudgetSummaryDTO(summary.getTotalIncome(), summary.getTotalExpenses(),
+                summary.getTotalInvestments(), summary.getTotalNonInvestmentExpenses(), summary.getTotalSurplus(),
+                summary.getInvestmentPercentage(), summary.getNonInvestmentExpensePercentage(),
+                summary.getSurplusOrDeficitRate());
+    }
+
+    private static final class CachedSummary {
+
+        private final Long dataVersion;
+        private final BudgetSummaryDTO summary;
+
+        private CachedSummary(Long dataVersion, BudgetSummaryDTO summary) {
+            this.dataVersion = dataVersion;
+            this.summary = summary;
+        }
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,30 +20,8 @@ public class ConfigurationService {
     private final CustomAssetTypeRepository customAssetTypeRepository;
     private final CustomLiabilityTypeRepository customLiabilityTypeRepository;
     private final UserRepository userRepository;
-
-    // Default display names for asset types
-    private static final Map<AssetType, String> DEFAULT_ASSET_NAMES = Map.of(
-            AssetType.EQUITY, "Equity",
-            AssetType.CASH, "Cash",
-            AssetType.REAL_ESTATE, "Real Estate",
-            AssetType.GOLD, "Gold",
-            AssetType.DEBT, "Debt",
-            AssetType.MUTUAL_FUND, "Mutual Fund",
-            AssetType.CRYPTOCURRENCY, "Cryptocurrency",
-            AssetType.BONDS, "Bonds",
-            AssetType.OTHER, "Other"
-    );
-
-    // Default display names for liability types
-    private static final Map<LiabilityType, String> DEFAULT_LIABILITY_NAMES = Map.of(
-            LiabilityType.HOME_LOAN, "Home Loan",
-            LiabilityType.CAR_LOAN, "Car Loan",
-            LiabilityType.PERSONAL_LOAN, "Personal Loan",
-            LiabilityType.CREDIT_CARD, "Credit Card",
-            LiabilityType.EDUCATION_LOAN, "Education Loan",
-            LiabilityType.BUSINESS_LOAN, "Business Loan",
-            LiabilityType.OTHER, "Other"
-    );
+    private final DataVersionService dataVersionService;
+    private final CustomTypeCatalogService typeCatalogService;
 
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -54,28 +31,8 @@ public class ConfigurationService {
 
     // Custom Asset Type methods
     public List<CustomAssetTypeDTO> getAllCustomAssetTypes() {
-        User user = this.getCurrentUser();
-        ensureDefaultCustomAssetTypes(user);
-        return customAssetTypeRepository.findByUserOrderedByDisplayName(user).stream()
-                .map(this::convertToCustomAssetDTO)
-                .sorted(Comparator.comparing(CustomAssetTypeDTO::getDisplayName))
-                .collect(Collectors.toList());
-    }
-
-    private void ensureDefaultCustomAssetTypes(User user) {
-        List<CustomAssetType> existingTypes = customAssetTypeRepository.findByUserOrderedByDisplayName(user);
-        if(existingTypes.isEmpty()) {
-            for (Map.Entry<AssetType, String> entry : DEFAULT_ASSET_NAMES.entrySet()) {
-                String typeName = entry.getKey().name();
-                CustomAssetType newType = new CustomAssetType();
-                newType.setUser(user);
-                newType.setTypeName(typeName);
-                newType.setDisplayName(entry.getValue());
-                newType.setDescription("Default " + entry.getValue() + " type");
-                newType.setIsActive(true);
-                customAssetTypeRepository.save(newType);
-            }
-        }
+        // Defaults are provisioned at signup, so this is a pure (usually cached) read
+        return typeCatalogService.getAssetTypes(this.getCurrentUser()).getAll();
     }
 
     @Transactional
@@ -88,27 +45,34 @@ public class ConfigurationService {
             typeName = dto.getDisplayName().toUpperCase().replaceAll("\\s+", "_");
         }
 
+        CustomTypeCatalogService.TypeCatalog<CustomAssetTypeDTO> catalog = typeCatalogService.getAssetTypes(user);
+
         // Check if type name already exists for this user
-        if (dto.getId() == null && customAssetTypeRepository.existsByUserAndTypeName(user, typeName)) {
+        if (dto.getId() == null && catalog.containsTypeName(typeName)) {
             throw new RuntimeException("Custom asset type with this name already exists");
         }
 
         // Check if display name already exists for this user (excluding current type if updating)
-        List<CustomAssetType> existingTypes = customAssetTypeRepository.findByUserOrderedByDisplayName(user);
-        if(dto.getId() == null && existingTypes.size() >= 20) {
+        if(dto.getId() == null && catalog.size() >= 20) {
             throw new RuntimeException("Cannot add more than 20 custom asset types");
         }
-        for (CustomAssetType type : existingTypes) {
-            if (type.getDisplayName().equalsIgnoreCase(dto.getDisplayName()) && (dto.getId() == null || !type.getId().equals(dto.getId()))) {
-                throw new RuntimeException("Custom asset type with this display name already exists");
-            }
+        catalog.findByDisplayName(dto.getDisplayName())
+                .filter(type -> dto.getId() == null || !type.getId().equals(dto.getId()))
+                .ifPresent(type -> {
+                    throw new RuntimeException("Custom asset type with this display name already exists");
+                });
+
+        CustomAssetType customType;
+        if (dto.getId() != null) {
+            // The catalog only holds this user's types, so this also rejects other users' ids
+            catalog.findById(dto.getId())
+                    .orElseThrow(() -> new RuntimeException("Custom asset type not found"));
+            customType = customAssetTypeRepository.findById(dto.getId())
+                    .orElseThrow(() -> new RuntimeException("Custom asset type not found"));
+        } else {
+            customType = new CustomAssetType();
         }
 
-        CustomAssetType customType = dto.getId() != null
-                ? customAssetTypeRepository.findById(dto.getId())
-                .orElseThrow(() -> new RuntimeException("Custom asset type not found"))
-                : new CustomAssetType();
-
         customType.setUser(user);
         customType.setTypeName(typeName);
         customType.setDisplayName(dto.getDisplayName());
@@ -116,8 +80,10 @@ public class ConfigurationService {
         customType.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
         customType = customAssetTypeRepository.save(customType);
+        dataVersionService.bump(user.getId());
+        typeCatalogService.evictAssetTypes(user.getId());
 
-        return convertToCustomAssetDTO(customType);
+        return CustomTypeCatalogService.toAssetTypeDTO(customType);
     }
 
     @Transactional
@@ -140,42 +106,14 @@ public class ConfigurationService {
             );
         }
         customAssetTypeRepository.delete(customType);
-    }
-
-    private CustomAssetTypeDTO convertToCustomAssetDTO(CustomAssetType customType) {
-        CustomAssetTypeDTO dto = new CustomAssetTypeDTO();
-        dto.setId(customType.getId());
-        dto.setTypeName(customType.getTypeName());
-        dto.setDisplayName(customType.getDisplayName());
-        dto.setDescription(customType.getDescription());
-        dto.setIsActive(customType.getIsActive());
-        return dto;
+        dataVersionService.bump(user.getId());
+        typeCatalogService.evictAssetTypes(user.getId());
     }
 
     // Custom Liability Type methods
     public List<CustomLiabilityTypeDTO> getAllCustomLiabilityTypes() {
-        User user = this.getCurrentUser();
-        ensureDefaultCustomLiabilityTypes(user);
-        return customLiabilityTypeRepository.findByUserOrderedByDisplayName(user).stream()
-                .map(this::convertToCustomLiabilityDTO)
-                .sorted(Comparator.comparing(CustomLiabilityTypeDTO::getDisplayName))
-                .collect(Collectors.toList());
-    }
-
-    private void ensureDefaultCustomLiabilityTypes(User user) {
-        List<CustomLiabilityType> existingTypes = customLiabilityTypeRepository.findByUserOrderedByDisplayName(user);
-        if(existingTypes.isEmpty()) {
-            for (Map.Entry<LiabilityType, String> entry : DEFAULT_LIABILITY_NAMES.entrySet()) {
-                String typeName = entry.getKey().name();
-                CustomLiabilityType newType = new CustomLiabilityType();
-                newType.setUser(user);
-                newType.setTypeName(typeName);
-                newType.setDisplayName(entry.getValue());
-                newType.setDescription("Default " + entry.getValue() + " type");
-                newType.setIsActive(true);
-                customLiabilityTypeRepository.save(newType);
-            }
-        }
+        // Defaults are provisioned at signup, so this is a pure (usually cached) read
+        return typeCatalogService.getLiabilityTypes(this.getCurrentUser()).getAll();
     }
 
     @Transactional
@@ -188,27 +126,34 @@ public class ConfigurationService {
             typeName = dto.getDisplayName().toUpperCase().replaceAll("\\s+", "_");
         }
 
+        CustomTypeCatalogService.TypeCatalog<CustomLiabilityTypeDTO> catalog = typeCatalogService.getLiabilityTypes(user);
+
         // Check if type name already exists for this user
-        if (dto.getId() == null && customLiabilityTypeRepository.existsByUserAndTypeName(user, typeName)) {
+        if (dto.getId() == null && catalog.containsTypeName(typeName)) {
             throw new RuntimeException("Custom liability type with this name already exists");
         }
 
         // Check if display name already exists for this user (excluding current type if updating)
-        List<CustomLiabilityType> existingTypes = customLiabilityTypeRepository.findByUserOrderedByDisplayName(user);
-        if(dto.getId() == null && existingTypes.size() > 20) {
+        if(dto.getId() == null && catalog.size() > 20) {
             throw new RuntimeException("Cannot add more than 20 custom liability types");
         }
-        for (CustomLiabilityType type : existingTypes) {
-            if (type.getDisplayName().equalsIgnoreCase(dto.getDisplayName()) && (dto.getId() == null || !type.getId().equals(dto.getId()))) {
-                throw new RuntimeException("Custom liability type with this display name already exists");
-            }
+        catalog.findByDisplayName(dto.getDisplayName())
+                .filter(type -> dto.getId() == null || !type.getId().equals(dto.getId()))
+                .ifPresent(type -> {
+                    throw new RuntimeException("Custom liability type with this display name already exists");
+                });
+
+        CustomLiabilityType customType;
+        if (dto.getId() != null) {
+            // The catalog only holds this user's types, so this also rejects other users' ids
+            catalog.findById(dto.getId())
+                    .orElseThrow(() -> new RuntimeException("Custom liability type not found"));
+            customType = customLiabilityTypeRepository.findById(dto.getId())
+                    .orElseThrow(() -> new RuntimeException("Custom liability type not found"));
+        } else {
+            customType = new CustomLiabilityType();
         }
 
-        CustomLiabilityType customType = dto.getId() != null
-                ? customLiabilityTypeRepository.findById(dto.getId())
-                .orElseThrow(() -> new RuntimeException("Custom liability type not found"))
-                : new CustomLiabilityType();
-
         customType.setUser(user);
         customType.setTypeName(typeName);
         customType.setDisplayName(dto.getDisplayName());
@@ -216,8 +161,10 @@ public class ConfigurationService {
         customType.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
         customType = customLiabilityTypeRepository.save(customType);
+        dataVersionService.bump(user.getId());
+        typeCatalogService.evictLiabilityTypes(user.getId());
 
-        return convertToCustomLiabilityDTO(customType);
+        return CustomTypeCatalogService.toLiabilityTypeDTO(customType);
     }
 
     @Transactional
@@ -239,16 +186,8 @@ public class ConfigurationService {
         }
 
         customLiabilityTypeRepository.delete(customType);
-    }
-
-    private CustomLiabilityTypeDTO convertToCustomLiabilityDTO(CustomLiabilityType customType) {
-        CustomLiabilityTypeDTO dto = new CustomLiabilityTypeDTO();
-        dto.setId(customType.getId());
-        dto.setTypeName(customType.getTypeName());
-        dto.setDisplayName(customType.getDisplayName());
-        dto.setDescription(customType.getDescription());
-        dto.setIsActive(customType.getIsActive());
-        return dto;
+        dataVersionService.bump(user.getId());
+        typeCatalogService.evictLiabilityTypes(user.getId());
     }
 }
 
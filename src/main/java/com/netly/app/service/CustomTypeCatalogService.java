@@ -0,0 +1,204 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.CustomAssetTypeDTO;
+import com.netly.app.dto.CustomLiabilityTypeDTO;
+import com.netly.app.model.CustomAssetType;
+import com.netly.app.model.CustomLiabilityType;
+import com.netly.app.model.User;
+import com.netly.app.repository.CustomAssetTypeRepository;
+import com.netly.app.repository.CustomLiabilityTypeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-user catalog of custom asset and liability types, indexed by id and display name.
+ * Entries are loaded on first use, so type lookups on asset/liability writes and config reads do not query
+ * the database. Each entry is tagged with the user's data version, which every type change bumps, and is
+ * reloaded once the version moves on, so a change made through another instance is picked up on the next
+ * request. Local saves, deletes and provisioning also evict the entry directly.
+ */
+@Service
+public class CustomTypeCatalogService {
+
+    private final CustomAssetTypeRepository customAssetTypeRepository;
+    private final CustomLiabilityTypeRepository customLiabilityTypeRepository;
+    private final Map<Long, CachedCatalog<CustomAssetTypeDTO>> assetCatalogs;
+    private final Map<Long, CachedCatalog<CustomLiabilityTypeDTO>> liabilityCatalogs;
+    // Bumped on every eviction; a load that raced with one is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CustomTypeCatalogService(CustomAssetTypeRepository customAssetTypeRepository,
+                                    CustomLiabilityTypeRepository customLiabilityTypeRepository,
+                                    @Value("${type-catalog.max.users:10000}") int maxUsers) {
+        this.customAssetTypeRepository = customAssetTypeRepository;
+        this.customLiabilityTypeRepository = customLiabilityTypeRepository;
+        this.assetCatalogs = lruMap(maxUsers);
+        this.liabilityCatalogs = lruMap(maxUsers);
+    }
+
+    /**
+     * Asset types of a user loaded in the current request; served from cache while its data version is unchanged
+     */
+    public TypeCatalog<CustomAssetTypeDTO> getAssetTypes(User user) {
+        return getCatalog(assetCatalogs, user, () -> new TypeCatalog<>(
+                customAssetTypeRepository.findByUserOrderedByDisplayName(user).stream()
+                        .map(CustomTypeCatalogService::toAssetTypeDTO)
+                        .collect(Collectors.toList()),
+                CustomAssetTypeDTO::getId, CustomAssetTypeDTO::getTypeName, CustomAssetTypeDTO::getDisplayName));
+    }
+
+    public TypeCatalog<CustomLiabilityTypeDTO> getLiabilityTypes(User user) {
+        return getCatalog(liabilityCatalogs, user, () -> new TypeCatalog<>(
+                customLiabilityTypeRepository.findByUserOrderedByDisplayName(user).stream()
+                        .map(CustomTypeCatalogService::toLiabilityTypeDTO)
+                        .collect(Collectors.toList()),
+                CustomLiabilityTypeDTO::getId, CustomLiabilityTypeDTO::getTypeName, CustomLiabilityTypeDTO::getDisplayName));
+    }
+
+    private <T> TypeCatalog<T> getCatalog(Map<Long, CachedCatalog<T>> catalogs, User user, Supplier<TypeCatalog<T>> loader) {
+        Long dataVersion = user.getDataVersion();
+        CachedCatalog<T> cached = catalogs.get(user.getId());
+        if (cached != null && Objects.equals(cached.dataVersion, dataVersion)) {
+            return cached.catalog;
+        }
+
+        // The version was read with the user, before the types, so an entry never holds types older than its version
+        long evictionsBeforeLoad = evictions.get();
+        TypeCatalog<T> catalog = loader.get();
+        cacheIfUnchanged(catalogs, user.getId(), new CachedCatalog<>(dataVersion, catalog), evictionsBeforeLoad);
+        return catalog;
+    }
+
+    /**
+     * Drop the user's asset type catalog now and again after the current transaction commits, so a
+     * concurrent reader cannot re-cache the pre-commit rows.
+     */
+    public void evictAssetTypes(Long userId) {
+        evict(assetCatalogs, userId);
+    }
+
+    public void evictLiabilityTypes(Long userId) {
+        evict(liabilityCatalogs, userId);
+    }
+
+    private void evict(Map<Long, ?> catalogs, Long userId) {
+        evictions.incrementAndGet();
+        catalogs.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictions.incrementAndGet();
+                    catalogs.remove(userId);
+                }
+            });
+        }
+    }
+
+    private <T> void cacheIfUnchanged(Map<Long, CachedCatalog<T>> catalogs, Long userId, CachedCatalog<T> catalog,
+                                      long evictionsBeforeLoad) {
+        synchronized (catalogs) {
+            if (evictions.get() == evictionsBeforeLoad) {
+                catalogs.put(userId, catalog);
+            }
+        }
+    }
+
+    public static CustomAssetTypeDTO toAssetTypeDTO(CustomAssetType customType) {
+        return new CustomAssetTypeDTO(customType.getId(), customType.getTypeName(), customType.getDisplayName(),
+                customType.getDescription(), customType.getIsActive());
+    }
+
+    public static CustomLiabilityTypeDTO toLiabilityTypeDTO(CustomLiabilityType customType) {
+        return new CustomLiabilityTypeDTO(customType.getId(), customType.getTypeName(), customType.getDisplayName(),
+                customType.getDescription(), customType.getIsActive());
+    }
+
+    private static <V> Map<Long, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static final class CachedCatalog<T> {
+
+        private final Long dataVersion;
+        private final TypeCatalog<T> catalog;
+
+        private CachedCatalog(Long dataVersion, TypeCatalog<T> catalog) {
+            this.dataVersion = dataVersion;
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Immutable snapshot of one user's types. The DTOs are shared between callers and must not be modified.
+     */
+    public static final class TypeCatalog<T> {
+
+        private final List<T> types;
+        private final Map<Long, T> byId = new HashMap<>();
+        private final Map<String, T> byTypeName = new HashMap<>();
+        private final Map<String, T> byDisplayName = new HashMap<>();
+
+        TypeCatalog(List<T> types, Function<T, Long> id, Function<T, String> typeName, Function<T, String> displayName) {
+            this.types = types.stream()
+                    .sorted(Comparator.comparing(displayName))
+                    .collect(Collectors.toUnmodifiableList());
+            for (T type : this.types) {
+                byId.put(id.apply(type), type);
+                byTypeName.put(typeName.apply(type), type);
+                byDisplayName.put(displayName.apply(type).toLowerCase(Locale.ROOT), type);
+            }
+        }
+
+        /**
+         * All types sorted by display name
+         */
+        public List<T> getAll() {
+            return types;
+        }
+
+        public int size() {
+            return types.size();
+        }
+
+        public Optional<T> findById(Long id) {
+            return Optional.ofNullable(id != null ? byId.get(id) : null);
+        }
+
+        public boolean containsTypeName(String typeName) {
+            return byTypeName.containsKey(typeName);
+        }
+
+        public Optional<T> findByTypeName(String typeName) {
+            return Optional.ofNullable(typeName != null ? byTypeName.get(typeName) : null);
+        }
+
+        /**
+         * Case-insensitive display name lookup
+         */
+        public Optional<T> findByDisplayName(String displayName) {
+            return Optional.ofNullable(displayName != null ? byDisplayName.get(displayName.toLowerCase(Locale.ROOT)) : null);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.UserEvent;
+import com.netly.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-user data version stored on the users row. It is bumped in the same transaction as the
+ * change it describes, so readers never see new data with an old version. Each bump also notifies the
+ * user's open event streams once the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+    private final UserEventPublisher userEventPublisher;
+
+    /**
+     * Increment the data version for a user (must be called from a write transaction)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        userRepository.incrementDataVersion(userId);
+        userEventPublisher.publish(userId, UserEvent.DATA_CHANGED, Map.of());
+    }
+
+    /**
+     * Notify users whose data version was already bumped in the database by the sync version trigger, for bulk
+     * statements that change rows of many users at once (must be called from the write transaction)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void notifyBumped(Collection<Long> userIds) {
+        userIds.forEach(userId -> userEventPublisher.publish(userId, UserEvent.DATA_CHANGED, Map.of()));
+    }
+
+    /**
+     * Current data version for a user; caches and precomputed results key off this value
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(Long userId) {
+        return userRepository.findDataVersionById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserRepository.UserDataVersion> getDataVersion(String email) {
+        return userRepository.findDataVersionByEmail(email);
+    }
+}
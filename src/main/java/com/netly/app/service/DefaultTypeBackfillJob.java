@@ -0,0 +1,77 @@
+package com.netly.app.service;
+
+import com.netly.app.model.JobRun;
+import com.netly.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Provisions default types for users created before signup-time provisioning, who previously got them
+ * lazily on their first configuration read. This is a one-off migration: a completed run is recorded in
+ * job_runs and later startups skip it, so users who deliberately delete all their types keep it that way.
+ * A run with failures is left FAILED and retried on the next startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DefaultTypeBackfillJob {
+
+    private static final String JOB_NAME = "default-type-backfill";
+    // Bump to run the backfill again, e.g. after adding a default type
+    private static final String RUN_KEY = "v1";
+
+    private final DefaultTypeProvisioningService provisioningService;
+    private final UserRepository userRepository;
+    private final JobRunService jobRunService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDefaultTypes() {
+        Optional<JobRun> claimed = jobRunService.start(JOB_NAME, RUN_KEY);
+        if (claimed.isEmpty()) {
+            log.debug("Default type backfill already completed or running on another node");
+            return;
+        }
+        JobRun run = claimed.get();
+
+        List<Long> withoutAssetTypes = userRepository.findIdsWithoutCustomAssetTypes();
+        List<Long> withoutLiabilityTypes = userRepository.findIdsWithoutCustomLiabilityTypes();
+        if (withoutAssetTypes.isEmpty() && withoutLiabilityTypes.isEmpty()) {
+            jobRunService.finish(run, JobRun.Status.COMPLETED, null);
+            return;
+        }
+
+        log.info("Backfilling default types. Users without asset types: {}, without liability types: {}",
+                withoutAssetTypes.size(), withoutLiabilityTypes.size());
+        int errorCount = 0;
+
+        for (Long userId : withoutAssetTypes) {
+            try {
+                provisioningService.provisionDefaultAssetTypes(userId);
+            } catch (Exception e) {
+                errorCount++;
+                log.error("Failed to backfill default asset types for user {}. Error: {}", userId, e.getMessage());
+            }
+        }
+        for (Long userId : withoutLiabilityTypes) {
+            try {
+                provisioningService.provisionDefaultLiabilityTypes(userId);
+            } catch (Exception e) {
+                errorCount++;
+                log.error("Failed to backfill default liability types for user {}. Error: {}", userId, e.getMessage());
+            }
+        }
+
+        log.info("Default type backfill completed. Errors: {}", errorCount);
+        if (errorCount > 0) {
+            jobRunService.finish(run, JobRun.Status.FAILED, errorCount + " users failed");
+        } else {
+            jobRunService.finish(run, JobRun.Status.COMPLETED, null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.netly.app.service;
+
+import com.netly.app.model.AssetType;
+import com.netly.app.model.LiabilityType;
+import com.netly.app.model.User;
+import com.netly.app.repository.CustomAssetTypeRepository;
+import com.netly.app.repository.CustomLiabilityTypeRepository;
+import com.netly.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Creates a user's default custom asset and liability types, one batched insert per kind.
+ * Inserts are idempotent (ON CONFLICT DO NOTHING on user and type name), so concurrent or repeated
+ * calls are safe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DefaultTypeProvisioningService {
+
+    private final UserRepository userRepository;
+    private final CustomAssetTypeRepository customAssetTypeRepository;
+    private final CustomLiabilityTypeRepository customLiabilityTypeRepository;
+    private final DataVersionService dataVersionService;
+    private final CustomTypeCatalogService typeCatalogService;
+
+    // Default display names for asset types
+    private static final Map<AssetType, String> DEFAULT_ASSET_NAMES = Map.of(
+            AssetType.EQUITY, "Equity",
+            AssetType.CASH, "Cash",
+            AssetType.REAL_ESTATE, "Real Estate",
+            AssetType.GOLD, "Gold",
+            AssetType.DEBT, "Debt",
+            AssetType.MUTUAL_FUND, "Mutual Fund",
+            AssetType.CRYPTOCURRENCY, "Cryptocurrency",
+            AssetType.BONDS, "Bonds",
+            AssetType.OTHER, "Other"
+    );
+
+    // Default display names for liability types
+    private static final Map<LiabilityType, String> DEFAULT_LIABILITY_NAMES = Map.of(
+            LiabilityType.HOME_LOAN, "Home Loan",
+            LiabilityType.CAR_LOAN, "Car Loan",
+            LiabilityType.PERSONAL_LOAN, "Personal Loan",
+            LiabilityType.CREDIT_CARD, "Credit Card",
+            LiabilityType.EDUCATION_LOAN, "Education Loan",
+            LiabilityType.BUSINESS_LOAN, "Business Loan",
+            LiabilityType.OTHER, "Other"
+    );
+
+    /**
+     * Save a new user together with their default types in one transaction. Password hashing is
+     * expected to be done by the caller beforehand, so no connection is held while hashing.
+     */
+    @Transactional
+    public User saveNewUser(User user) {
+        User savedUser = userRepository.save(user);
+        provisionDefaultAssetTypes(savedUser.getId());
+        provisionDefaultLiabilityTypes(savedUser.getId());
+        return savedUser;
+    }
+
+    @Transactional
+    public void provisionDefaultAssetTypes(Long userId) {
+        String[][] names = toArrays(DEFAULT_ASSET_NAMES);
+        int inserted = customAssetTypeRepository.insertDefaultTypes(userId, names[0], names[1]);
+        if (inserted > 0) {
+            dataVersionService.bump(userId);
+            typeCatalogService.evictAssetTypes(userId);
+            log.info("Provisioned {} default asset types for user {}", inserted, userId);
+        }
+    }
+
+    @Transactional
+    public void provisionDefaultLiabilityTypes(Long userId) {
+        String[][] names = toArrays(DEFAULT_LIABILITY_NAMES);
+        int inserted = customLiabilityTypeRepository.insertDefaultTypes(userId, names[0], names[1]);
+        if (inserted > 0) {
+            dataVersionService.bump(userId);
+            typeCatalogService.evictLiabilityTypes(userId);
+            log.info("Provisioned {} default liability types for user {}", inserted, userId);
+        }
+    }
+
+    /**
+     * Split the defaults into parallel type name and display name arrays for the batched insert
+     */
+    private static String[][] toArrays(Map<? extends Enum<?>, String> defaults) {
+        String[] typeNames = new String[defaults.size()];
+        String[] displayNames = new String[defaults.size()];
+        int i = 0;
+        for (Map.Entry<? extends Enum<?>, String> entry : defaults.entrySet()) {
+            typeNames[i] = entry.getKey().name();
+            displayNames[i] = entry.getValue();
+            i++;
+        }
+        return new String[][]{typeNames, displayNames};
+    }
+}
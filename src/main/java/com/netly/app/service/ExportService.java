@@ -0,0 +1,276 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netly.app.model.User;
+import com.netly.app.repository.AssetRepository;
+import com.netly.app.repository.AssetSnapshotRepository;
+import com.netly.app.repository.BudgetItemRepository;
+import com.netly.app.repository.LiabilityRepository;
+import com.netly.app.repository.LiabilitySnapshotRepository;
+import com.netly.app.repository.PortfolioSnapshotRepository;
+import com.netly.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's data as CSV or NDJSON straight to an output stream. Rows are read through JDBC cursors
+ * as flat projections and written one at a time, so memory use does not depend on how much history a user has.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final List<Column<AssetRepository.AssetExportRow>> ASSET_COLUMNS = List.of(
+            new Column<>("id", AssetRepository.AssetExportRow::getId),
+            new Column<>("name", AssetRepository.AssetExportRow::getName),
+            new Column<>("type", AssetRepository.AssetExportRow::getTypeName),
+            new Column<>("typeDisplayName", AssetRepository.AssetExportRow::getTypeDisplayName),
+            new Column<>("currentValue", AssetRepository.AssetExportRow::getCurrentValue),
+            new Column<>("purchasePrice", AssetRepository.AssetExportRow::getPurchasePrice),
+            new Column<>("purchaseDate", AssetRepository.AssetExportRow::getPurchaseDate),
+            new Column<>("quantity", AssetRepository.AssetExportRow::getQuantity),
+            new Column<>("description", AssetRepository.AssetExportRow::getDescription),
+            new Column<>("location", AssetRepository.AssetExportRow::getLocation),
+            new Column<>("illiquid", AssetRepository.AssetExportRow::getIlliquid),
+            new Column<>("symbol", AssetRepository.AssetExportRow::getSymbol),
+            new Column<>("updatedAt", AssetRepository.AssetExportRow::getUpdatedAt));
+
+    private static final List<Column<LiabilityRepository.LiabilityExportRow>> LIABILITY_COLUMNS = List.of(
+            new Column<>("id", LiabilityRepository.LiabilityExportRow::getId),
+            new Column<>("name", LiabilityRepository.LiabilityExportRow::getName),
+            new Column<>("type", LiabilityRepository.LiabilityExportRow::getTypeName),
+            new Column<>("typeDisplayName", LiabilityRepository.LiabilityExportRow::getTypeDisplayName),
+            new Column<>("currentBalance", LiabilityRepository.LiabilityExportRow::getCurrentBalance),
+            new Column<>("originalAmount", LiabilityRepository.LiabilityExportRow::getOriginalAmount),
+            new Column<>("startDate", LiabilityRepository.LiabilityExportRow::getStartDate),
+            new Column<>("endDate", LiabilityRepository.LiabilityExportRow::getEndDate),
+            new Column<>("interestRate", LiabilityRepository.LiabilityExportRow::getInterestRate),
+            new Column<>("monthlyPayment", LiabilityRepository.LiabilityExportRow::getMonthlyPayment),
+            new Column<>("lender", LiabilityRepository.LiabilityExportRow::getLender),
+            new Column<>("description", LiabilityRepository.LiabilityExportRow::getDescription),
+            new Column<>("updatedAt", LiabilityRepository.LiabilityExportRow::getUpdatedAt));
+
+    private static final List<Column<BudgetItemRepository.BudgetItemExportRow>> BUDGET_ITEM_COLUMNS = List.of(
+            new Column<>("id", BudgetItemRepository.BudgetItemExportRow::getId),
+            new Column<>("itemType", BudgetItemRepository.BudgetItemExportRow::getItemType),
+            new Column<>("itemName", BudgetItemRepository.BudgetItemExportRow::getItemName),
+            new Column<>("amount", BudgetItemRepository.BudgetItemExportRow::getAmount),
+            new Column<>("isInvestment", BudgetItemRepository.BudgetItemExportRow::getIsInvestment),
+            new Column<>("description", BudgetItemRepository.BudgetItemExportRow::getDescription),
+            new Column<>("displayOrder", BudgetItemRepository.BudgetItemExportRow::getDisplayOrder));
+
+    private static final List<Column<PortfolioSnapshotRepository.SnapshotExportRow>> SNAPSHOT_COLUMNS = List.of(
+            new Column<>("snapshotDate", PortfolioSnapshotRepository.SnapshotExportRow::getSnapshotDate),
+            new Column<>("totalAssets", PortfolioSnapshotRepository.SnapshotExportRow::getTotalAssets),
+            new Column<>("totalLiabilities", PortfolioSnapshotRepository.SnapshotExportRow::getTotalLiabilities),
+            new Column<>("netWorth", PortfolioSnapshotRepository.SnapshotExportRow::getNetWorth),
+            new Column<>("totalGains", PortfolioSnapshotRepository.SnapshotExportRow::getTotalGains));
+
+    private static final List<Column<AssetSnapshotRepository.AssetSnapshotExportRow>> ASSET_SNAPSHOT_COLUMNS = List.of(
+            new Column<>("snapshotDate", AssetSnapshotRepository.AssetSnapshotExportRow::getSnapshotDate),
+            new Column<>("assetId", AssetSnapshotRepository.AssetSnapshotExportRow::getAssetId),
+            new Column<>("assetName", AssetSnapshotRepository.AssetSnapshotExportRow::getAssetName),
+            new Column<>("assetType", AssetSnapshotRepository.AssetSnapshotExportRow::getAssetTypeName),
+            new Column<>("currentValue", AssetSnapshotRepository.AssetSnapshotExportRow::getCurrentValue),
+            new Column<>("gainLoss", AssetSnapshotRepository.AssetSnapshotExportRow::getGainLoss),
+            new Column<>("currency", AssetSnapshotRepository.AssetSnapshotExportRow::getCurrency),
+            new Column<>("valueInInr", AssetSnapshotRepository.AssetSnapshotExportRow::getValueInInr));
+
+    private static final List<Column<LiabilitySnapshotRepository.LiabilitySnapshotExportRow>> LIABILITY_SNAPSHOT_COLUMNS = List.of(
+            new Column<>("snapshotDate", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getSnapshotDate),
+            new Column<>("liabilityId", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getLiabilityId),
+            new Column<>("liabilityName", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getLiabilityName),
+            new Column<>("liabilityType", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getLiabilityTypeName),
+            new Column<>("currentBalance", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getCurrentBalance),
+            new Column<>("currency", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getCurrency),
+            new Column<>("balanceInInr", LiabilitySnapshotRepository.LiabilitySnapshotExportRow::getBalanceInInr));
+
+    private final UserRepository userRepository;
+    private final AssetRepository assetRepository;
+    private final LiabilityRepository liabilityRepository;
+    private final BudgetItemRepository budgetItemRepository;
+    private final PortfolioSnapshotRepository portfolioSnapshotRepository;
+    private final AssetSnapshotRepository assetSnapshotRepository;
+    private final LiabilitySnapshotRepository liabilitySnapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParam(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAssets(Format format, OutputStream out) throws IOException {
+        try (Stream<AssetRepository.AssetExportRow> rows = assetRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, ASSET_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLiabilities(Format format, OutputStream out) throws IOException {
+        try (Stream<LiabilityRepository.LiabilityExportRow> rows = liabilityRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, LIABILITY_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBudgetItems(Format format, OutputStream out) throws IOException {
+        try (Stream<BudgetItemRepository.BudgetItemExportRow> rows = budgetItemRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, BUDGET_ITEM_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportSnapshots(Format format, OutputStream out) throws IOException {
+        try (Stream<PortfolioSnapshotRepository.SnapshotExportRow> rows = portfolioSnapshotRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, SNAPSHOT_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAssetSnapshots(Format format, OutputStream out) throws IOException {
+        try (Stream<AssetSnapshotRepository.AssetSnapshotExportRow> rows = assetSnapshotRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, ASSET_SNAPSHOT_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLiabilitySnapshots(Format format, OutputStream out) throws IOException {
+        try (Stream<LiabilitySnapshotRepository.LiabilitySnapshotExportRow> rows = liabilitySnapshotRepository.streamExportRows(getCurrentUser().getId())) {
+            write(rows, LIABILITY_SNAPSHOT_COLUMNS, format, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, List<Column<T>> columns, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writeCsv(rows, columns, writer);
+        } else {
+            writeNdjson(rows, columns, writer);
+        }
+        writer.flush();
+    }
+
+    private <T> void writeCsv(Stream<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name);
+        }
+        writer.write("\r\n");
+
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value.apply(row);
+                if (value != null) {
+                    writer.write(csvField(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            generator.writeStartObject();
+            for (Column<T> column : columns) {
+                Object value = column.value.apply(row);
+                generator.writeFieldName(column.name);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal) {
+                    generator.writeNumber((BigDecimal) value);
+                } else if (value instanceof Number) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Boolean) {
+                    generator.writeBoolean((Boolean) value);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static String csvField(Object value) {
+        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Keep spreadsheets from evaluating user-entered text as a formula
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static final class Column<T> {
+
+        private final String name;
+        private final Function<T, Object> value;
+
+        Column(String name, Function<T, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
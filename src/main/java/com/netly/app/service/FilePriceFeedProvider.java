@@ -0,0 +1,66 @@
+package com.netly.app.service;
+
+import com.netly.app.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local stand-in price feed reading {@code symbol,price} rows from a CSV file, for testing and
+ * manual price drops. The file is re-read on every fetch, so edits take effect on the next run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price.feed.provider", havingValue = "file")
+public class FilePriceFeedProvider implements PriceFeedProvider {
+
+    private final Path path;
+
+    public FilePriceFeedProvider(@Value("${price.feed.file.path:prices.csv}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + path;
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchPrices(Collection<String> symbols) throws IOException {
+        Set<String> wanted = new HashSet<>(symbols);
+        Map<String, BigDecimal> prices = new HashMap<>();
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() < 2) {
+                    continue;
+                }
+                String symbol = record.get(0).trim().toUpperCase(Locale.ROOT);
+                if (!wanted.contains(symbol)) {
+                    continue;
+                }
+                try {
+                    prices.put(symbol, new BigDecimal(record.get(1).trim()));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping invalid price for {} in {}: {}", symbol, path, record.get(1));
+                }
+            }
+        }
+        return prices;
+    }
+}
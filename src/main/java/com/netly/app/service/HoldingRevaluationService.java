@@ -0,0 +1,54 @@
+package com.netly.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revalues holdings of all users from symbol prices in one statement per call. The sync version trigger on
+ * assets bumps the data version of every user whose assets changed, inside the same statement, so no user ids
+ * are sent back to the database; the owners returned here are only notified.
+ */
+@Service
+@RequiredArgsConstructor
+public class HoldingRevaluationService {
+
+    // The data-modifying CTE returns the owners of changed rows, so no asset is read into the application
+    private static final String REVALUE_SQL =
+            "WITH updated AS (" +
+            "UPDATE netly_schema.assets a SET current_value = ROUND(a.quantity * p.price, 2), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "FROM unnest(?::varchar[], ?::numeric[]) AS p(symbol, price) " +
+            "WHERE a.symbol = p.symbol AND a.quantity IS NOT NULL " +
+            "AND a.current_value IS DISTINCT FROM ROUND(a.quantity * p.price, 2) " +
+            "RETURNING a.user_id) " +
+            "SELECT DISTINCT user_id FROM updated";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersionService dataVersionService;
+
+    /**
+     * @return ids of the users whose holdings changed
+     */
+    @Transactional
+    public List<Long> revalueHoldings(Map<String, BigDecimal> pricesBySymbol) {
+        if (pricesBySymbol.isEmpty()) {
+            return List.of();
+        }
+        String[] symbols = pricesBySymbol.keySet().toArray(new String[0]);
+        BigDecimal[] prices = pricesBySymbol.values().toArray(new BigDecimal[0]);
+
+        List<Long> userIds = jdbcTemplate.query(REVALUE_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", symbols));
+            ps.setArray(2, ps.getConnection().createArrayOf("numeric", prices));
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        dataVersionService.notifyBumped(userIds);
+        return userIds;
+    }
+}
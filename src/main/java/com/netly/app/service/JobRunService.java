@@ -0,0 +1,136 @@
+package com.netly.app.service;
+
+import com.netly.app.model.JobRun;
+import com.netly.app.repository.JobRunFailureRepository;
+import com.netly.app.repository.JobRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent state of batch job runs in job_runs: claiming a run, per-user checkpoints and completion.
+ * Each call is its own short transaction, so progress is durable as soon as a user has been processed.
+ * Updates are conditional on the run's attempt number, which changes whenever a run is taken over, so
+ * they return false on a node that has lost its claim.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobRunService {
+
+    private final JobRunRepository jobRunRepository;
+    private final JobRunFailureRepository jobRunFailureRepository;
+
+    @Value("${batch.jobs.stale.minutes:10}")
+    private long staleMinutes;
+
+    @Value("${batch.jobs.max.attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Start a new run, or take over an interrupted one for the same key. Empty when the run has already
+     * completed or another node is actively running it.
+     */
+    @Transactional
+    public Optional<JobRun> start(String jobName, String runKey) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRunRepository.insertIfAbsent(jobName, runKey, now) == 1) {
+            return jobRunRepository.findByJobNameAndRunKey(jobName, runKey);
+        }
+
+        JobRun existing = jobRunRepository.findByJobNameAndRunKey(jobName, runKey)
+                .orElseThrow(() -> new RuntimeException("Job run not found"));
+        if (existing.getStatus() == JobRun.Status.COMPLETED
+                || jobRunRepository.claim(existing.getId(), now, staleBefore(),
+                        JobRun.Status.FAILED, JobRun.Status.RUNNING) == 0) {
+            return Optional.empty();
+        }
+        return jobRunRepository.findById(existing.getId());
+    }
+
+    /**
+     * Checkpoint past a user processed in order. A failed user is recorded with its error for retry.
+     */
+    @Transactional
+    public boolean checkpoint(JobRun run, Long userId, int success, int skipped, int failure, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRunRepository.checkpoint(run.getId(), run.getAttempts(), userId, success, skipped, failure,
+                now, JobRun.Status.RUNNING) == 0) {
+            return false;
+        }
+        if (failure > 0) {
+            jobRunFailureRepository.upsert(run.getId(), userId, error, now);
+        }
+        return true;
+    }
+
+    /**
+     * Record the retry of a previously failed user. The failure is cleared when the user succeeded or was
+     * skipped, and its error replaced when it failed again.
+     */
+    @Transactional
+    public boolean retried(JobRun run, Long userId, int success, int skipped, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean resolved = success + skipped > 0;
+        if (jobRunRepository.retried(run.getId(), run.getAttempts(), success, skipped, resolved ? 1 : 0,
+                now, JobRun.Status.RUNNING) == 0) {
+            return false;
+        }
+        if (resolved) {
+            jobRunFailureRepository.deleteByJobRunIdAndUserId(run.getId(), userId);
+        } else {
+            jobRunFailureRepository.upsert(run.getId(), userId, error, now);
+        }
+        return true;
+    }
+
+    @Transactional
+    public boolean finish(JobRun run, JobRun.Status status, String error) {
+        return jobRunRepository.finish(run.getId(), run.getAttempts(), status, error, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Users the run has failed for and not yet succeeded on retry, in id order
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getFailedUserIds(Long runId) {
+        return jobRunFailureRepository.findUserIdsByJobRunId(runId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JobRun> getRun(Long runId) {
+        return jobRunRepository.findById(runId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean exists(String jobName, String runKey) {
+        return jobRunRepository.existsByJobNameAndRunKey(jobName, runKey);
+    }
+
+    /**
+     * Failed or abandoned runs of a job that have attempts left
+     */
+    @Transactional(readOnly = true)
+    public List<JobRun> findResumable(String jobName) {
+        return jobRunRepository.findResumable(jobName, staleBefore(), maxAttempts,
+                JobRun.Status.FAILED, JobRun.Status.RUNNING);
+    }
+
+    /**
+     * Most recent runs, optionally of one job only
+     */
+    @Transactional(readOnly = true)
+    public List<JobRun> getHistory(String jobName) {
+        return jobName == null
+                ? jobRunRepository.findTop50ByOrderByStartedAtDesc()
+                : jobRunRepository.findTop50ByJobNameOrderByStartedAtDesc(jobName);
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusMinutes(staleMinutes);
+    }
+}
@@ -1,5 +1,6 @@
 package com.netly.app.service;
 
+import com.netly.app.dto.CustomLiabilityTypeDTO;
 import com.netly.app.dto.LiabilityDTO;
 import com.netly.app.model.CustomLiabilityType;
 import com.netly.app.model.Liability;
@@ -21,6 +22,8 @@ public class LiabilityService {
     private final LiabilityRepository liabilityRepository;
     private final UserRepository userRepository;
     private final CustomLiabilityTypeRepository customLiabilityTypeRepository;
+    private final DataVersionService dataVersionService;
+    private final CustomTypeCatalogService typeCatalogService;
 
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -46,6 +49,16 @@ public class LiabilityService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Liabilities written after the given sync version (used by delta sync)
+     */
+    @Transactional(readOnly = true)
+    public List<LiabilityDTO> getLiabilitiesChangedSince(User user, long sinceVersion) {
+        return liabilityRepository.findChangedSince(user, sinceVersion).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public LiabilityDTO getLiabilityById(Long id) {
         User currentUser = getCurrentUser();
@@ -57,17 +70,13 @@ public class LiabilityService {
     @Transactional
     public LiabilityDTO createLiability(LiabilityDTO liabilityDTO) {
         User currentUser = getCurrentUser();
-        CustomLiabilityType liabilityType = customLiabilityTypeRepository.findById(liabilityDTO.getCustomLiabilityTypeId())
-                .orElseThrow(() -> new RuntimeException("Liability type not found with id: " + liabilityDTO.getCustomLiabilityTypeId()));
-
-        if (!liabilityType.getUser().equals(currentUser)) {
-            throw new RuntimeException("Liability type does not belong to current user");
-        }
+        CustomLiabilityTypeDTO liabilityType = resolveLiabilityType(currentUser, liabilityDTO.getCustomLiabilityTypeId());
 
-        Liability liability = convertToEntity(liabilityDTO, liabilityType);
+        Liability liability = convertToEntity(liabilityDTO, customLiabilityTypeRepository.getReferenceById(liabilityType.getId()));
         liability.setUser(currentUser);
         Liability savedLiability = liabilityRepository.save(liability);
-        return convertToDTO(savedLiability);
+        dataVersionService.bump(currentUser.getId());
+        return convertToDTO(savedLiability, liabilityType);
     }
 
     @Transactional
@@ -76,15 +85,10 @@ public class LiabilityService {
         Liability existingLiability = liabilityRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new RuntimeException("Liability not found with id: " + id));
 
-        CustomLiabilityType liabilityType = customLiabilityTypeRepository.findById(liabilityDTO.getCustomLiabilityTypeId())
-                .orElseThrow(() -> new RuntimeException("Liability type not found with id: " + liabilityDTO.getCustomLiabilityTypeId()));
-
-        if (!liabilityType.getUser().equals(currentUser)) {
-            throw new RuntimeException("Liability type does not belong to current user");
-        }
+        CustomLiabilityTypeDTO liabilityType = resolveLiabilityType(currentUser, liabilityDTO.getCustomLiabilityTypeId());
 
         existingLiability.setName(liabilityDTO.getName());
-        existingLiability.setLiabilityType(liabilityType);
+        existingLiability.setLiabilityType(customLiabilityTypeRepository.getReferenceById(liabilityType.getId()));
         existingLiability.setCurrentBalance(liabilityDTO.getCurrentBalance());
         existingLiability.setOriginalAmount(liabilityDTO.getOriginalAmount());
         existingLiability.setStartDate(liabilityDTO.getStartDate());
@@ -95,7 +99,8 @@ public class LiabilityService {
         existingLiability.setDescription(liabilityDTO.getDescription());
 
         Liability updatedLiability = liabilityRepository.save(existingLiability);
-        return convertToDTO(updatedLiability);
+        dataVersionService.bump(currentUser.getId());
+        return convertToDTO(updatedLiability, liabilityType);
     }
 
     @Transactional
@@ -104,15 +109,28 @@ public class LiabilityService {
         Liability liability = liabilityRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new RuntimeException("Liability not found with id: " + id));
         liabilityRepository.delete(liability);
+        dataVersionService.bump(currentUser.getId());
+    }
+
+    /**
+     * Resolve a type id against the current user's cached type catalog
+     */
+    private CustomLiabilityTypeDTO resolveLiabilityType(User user, Long liabilityTypeId) {
+        return typeCatalogService.getLiabilityTypes(user).findById(liabilityTypeId)
+                .orElseThrow(() -> new RuntimeException("Liability type not found with id: " + liabilityTypeId));
     }
 
     private LiabilityDTO convertToDTO(Liability liability) {
+        return convertToDTO(liability, CustomTypeCatalogService.toLiabilityTypeDTO(liability.getLiabilityType()));
+    }
+
+    private LiabilityDTO convertToDTO(Liability liability, CustomLiabilityTypeDTO liabilityType) {
         LiabilityDTO dto = new LiabilityDTO();
         dto.setId(liability.getId());
         dto.setName(liability.getName());
-        dto.setCustomLiabilityTypeId(liability.getLiabilityType().getId());
-        dto.setLiabilityTypeName(liability.getLiabilityType().getTypeName());
-        dto.setLiabilityTypeDisplayName(liability.getLiabilityType().getDisplayName());
+        dto.setCustomLiabilityTypeId(liabilityType.getId());
+        dto.setLiabilityTypeName(liabilityType.getTypeName());
+        dto.setLiabilityTypeDisplayName(liabilityType.getDisplayName());
         dto.setCurrentBalance(liability.getCurrentBalance());
         dto.setOriginalAmount(liability.getOriginalAmount());
         dto.setStartDate(liability.getStartDate());
@@ -1,15 +1,20 @@
 package com.netly.app.service;
 
 import com.netly.app.dto.ResendEmailPayload;
+import com.netly.app.security.RateLimitExceededException;
+import com.netly.app.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.security.SecureRandom;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -24,9 +29,49 @@ public class OtpService {
     @Value("${otp.expiration.minutes:5}")
     private long otpExpirationMinutes;
 
+    @Value("${otp.resend.cooldown.seconds:60}")
+    private long otpResendCooldownSeconds;
+
+    @Value("${otp.verify.max.attempts:5}")
+    private int otpMaxAttempts;
+
     private static final String OTP_PREFIX = "netly-otp:";
+    private static final String OTP_COOLDOWN_PREFIX = "netly-otp-cooldown:";
     private static final SecureRandom random = new SecureRandom();
 
+    private static final long VERIFY_SUCCESS = 1;
+    private static final long VERIFY_LOCKED_OUT = -2;
+
+    // KEYS[1] = OTP hash, KEYS[2] = cooldown; ARGV = code, OTP ttl seconds, cooldown seconds.
+    // Returns 0 when stored, otherwise the seconds left on the cooldown.
+    private static final RedisScript<Long> STORE_OTP_SCRIPT = new DefaultRedisScript<>(
+            "if not redis.call('SET', KEYS[2], '1', 'NX', 'EX', ARGV[3]) then " +
+            "  local ttl = redis.call('TTL', KEYS[2]) " +
+            "  if ttl > 0 then return ttl end " +
+            "  return tonumber(ARGV[3]) " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('HSET', KEYS[1], 'code', ARGV[1], 'attempts', 0) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 0",
+            Long.class);
+
+    // KEYS[1] = OTP hash; ARGV = submitted code, max attempts.
+    // Returns 1 on success, 0 on a wrong code, -1 if no code is pending, -2 once the code is locked out.
+    private static final RedisScript<Long> VERIFY_OTP_SCRIPT = new DefaultRedisScript<>(
+            "local code = redis.call('HGET', KEYS[1], 'code') " +
+            "if not code then return -1 end " +
+            "if code == ARGV[1] then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  return 1 " +
+            "end " +
+            "if redis.call('HINCRBY', KEYS[1], 'attempts', 1) >= tonumber(ARGV[2]) then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  return -2 " +
+            "end " +
+            "return 0",
+            Long.class);
+
     /**
      * Generate a 6-digit OTP
      */
@@ -36,29 +81,45 @@ public class OtpService {
     }
 
     /**
-     * Store OTP in Redis with expiration
+     * Store OTP in Redis with expiration. Reissuing within the cooldown is rejected so the
+     * caller never generates or emails another code.
      */
     public void storeOtp(String email, String otp) {
-        String key = OTP_PREFIX + email;
-        redisTemplate.opsForValue().set(key, otp, otpExpirationMinutes, TimeUnit.MINUTES);
+        String normalizedEmail = EmailNormalizer.normalize(email);
+        Long cooldownRemaining = redisTemplate.execute(STORE_OTP_SCRIPT,
+                List.of(OTP_PREFIX + normalizedEmail, OTP_COOLDOWN_PREFIX + normalizedEmail),
+                otp,
+                String.valueOf(TimeUnit.MINUTES.toSeconds(otpExpirationMinutes)),
+                String.valueOf(Math.max(1, otpResendCooldownSeconds)));
+
+        if (cooldownRemaining != null && cooldownRemaining > 0) {
+            log.warn("OTP reissue for email: {} rejected during cooldown", email);
+            throw new RateLimitExceededException("OTP was sent recently", cooldownRemaining);
+        }
         log.info("OTP stored for email: {} with expiration of {} minutes", email, otpExpirationMinutes);
     }
 
     /**
-     * Verify OTP
+     * Verify OTP. The code is consumed on success and after too many failed attempts, in the same
+     * round trip as the comparison, so concurrent verifies cannot both succeed.
      */
     public boolean verifyOtp(String email, String otp) {
-        String key = OTP_PREFIX + email;
-        String storedOtp = redisTemplate.opsForValue().get(key);
+        if (otp == null) {
+            return false;
+        }
+
+        Long result = redisTemplate.execute(VERIFY_OTP_SCRIPT,
+                List.of(OTP_PREFIX + EmailNormalizer.normalize(email)), otp, String.valueOf(otpMaxAttempts));
 
-        if (storedOtp != null && storedOtp.equals(otp)) {
-            // Delete OTP after successful verification
-            redisTemplate.delete(key);
+        if (result != null && result == VERIFY_SUCCESS) {
             log.info("OTP verified successfully for email: {}", email);
             return true;
         }
-
-        log.warn("OTP verification failed for email: {}", email);
+        if (result != null && result == VERIFY_LOCKED_OUT) {
+            log.warn("OTP for email: {} invalidated after {} failed attempts", email, otpMaxAttempts);
+        } else {
+            log.warn("OTP verification failed for email: {}", email);
+        }
         return false;
     }
 
@@ -149,13 +210,4 @@ public class OtpService {
             throw new RuntimeException("Failed to send primary email update OTP");
         }
     }
-
-    /**
-     * Check if OTP exists for email
-     */
-    public boolean hasValidOtp(String email) {
-        String key = OTP_PREFIX + email;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
-    }
 }
-
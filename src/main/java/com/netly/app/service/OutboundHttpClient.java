@@ -0,0 +1,74 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Async JSON calls to third-party APIs over the shared pooled client, with a latency timer per endpoint.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboundHttpClient {
+
+    private static final String METRIC_NAME = "netly.http.client.requests";
+
+    private final HttpClient outboundHttpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${http.client.read.timeout.millis:10000}")
+    private long readTimeoutMillis;
+
+    /**
+     * POST the body as JSON. The future completes normally for any HTTP status and exceptionally only
+     * on connect, timeout or I/O failures.
+     *
+     * @param endpoint low-cardinality name used to tag the latency metric, e.g. {@code resend.emails}
+     */
+    public CompletableFuture<HttpResponse<String>> postJsonAsync(String endpoint, String url, Object body,
+                                                                 String bearerToken) {
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(readTimeoutMillis))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (bearerToken != null) {
+                builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken);
+            }
+            request = builder.build();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return outboundHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> sample.stop(Timer.builder(METRIC_NAME)
+                        .tag("endpoint", endpoint)
+                        .tag("method", "POST")
+                        .tag("status", response != null ? String.valueOf(response.statusCode()) : errorStatus(error))
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry)));
+    }
+
+    private String errorStatus(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "TIMEOUT" : "IO_ERROR";
+    }
+}
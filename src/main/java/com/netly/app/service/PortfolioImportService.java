@@ -0,0 +1,316 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.CustomAssetTypeDTO;
+import com.netly.app.dto.CustomLiabilityTypeDTO;
+import com.netly.app.dto.ImportResultDTO;
+import com.netly.app.model.User;
+import com.netly.app.repository.UserRepository;
+import com.netly.app.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports assets and liabilities from CSV. The file is parsed one record at a time and rows are written
+ * with JDBC batch inserts, so large files neither sit in memory nor cost a round trip per row.
+ * Invalid rows are skipped and reported; the valid rows are committed together in one transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioImportService {
+
+    private static final String INSERT_ASSET_SQL =
+            "INSERT INTO netly_schema.assets (user_id, name, custom_asset_type_id, current_value, purchase_price, " +
+            "purchase_date, quantity, description, location, illiquid, symbol) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] ASSET_ARG_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.NUMERIC,
+            Types.NUMERIC, Types.DATE, Types.NUMERIC, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR};
+
+    private static final String INSERT_LIABILITY_SQL =
+            "INSERT INTO netly_schema.liabilities (user_id, name, custom_liability_type_id, current_balance, " +
+            "original_amount, start_date, end_date, interest_rate, monthly_payment, lender, description) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] LIABILITY_ARG_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.NUMERIC,
+            Types.NUMERIC, Types.DATE, Types.DATE, Types.NUMERIC, Types.NUMERIC, Types.VARCHAR, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final CustomTypeCatalogService typeCatalogService;
+    private final DataVersionService dataVersionService;
+
+    @Value("${import.batch.size:1000}")
+    private int batchSize;
+
+    @Value("${import.max.rows:200000}")
+    private long maxRows;
+
+    @Value("${import.max.reported.errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${import.max.field.length:65536}")
+    private int maxFieldLength;
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Columns (header names are case-insensitive, spaces and underscores ignored): name, type, currentValue
+     * required; purchasePrice, purchaseDate, quantity, description, location, illiquid, symbol optional.
+     * The type matches either a type name or a display name of the user's custom asset types.
+     */
+    @Transactional
+    public ImportResultDTO importAssets(InputStream input) {
+        User user = getCurrentUser();
+        CustomTypeCatalogService.TypeCatalog<CustomAssetTypeDTO> types = typeCatalogService.getAssetTypes(user);
+
+        return importRows(user, input, INSERT_ASSET_SQL, ASSET_ARG_TYPES, List.of("name", "type", "currentvalue"), row -> {
+            CustomAssetTypeDTO type = types.findByTypeName(row.required("type").toUpperCase(Locale.ROOT))
+                    .or(() -> types.findByDisplayName(row.required("type")))
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown asset type: " + row.get("type")));
+            return new Object[]{
+                    user.getId(),
+                    row.text("name", 255, true),
+                    type.getId(),
+                    row.requiredDecimal("currentvalue", 13),
+                    row.decimal("purchaseprice", 13),
+                    row.date("purchasedate"),
+                    row.decimal("quantity", 8),
+                    row.get("description"),
+                    row.text("location", 255, false),
+                    row.bool("illiquid"),
+                    symbol(row)
+            };
+        });
+    }
+
+    /**
+     * Columns: name, type, currentBalance required; originalAmount, startDate, endDate, interestRate,
+     * monthlyPayment, lender, description optional.
+     */
+    @Transactional
+    public ImportResultDTO importLiabilities(InputStream input) {
+        User user = getCurrentUser();
+        CustomTypeCatalogService.TypeCatalog<CustomLiabilityTypeDTO> types = typeCatalogService.getLiabilityTypes(user);
+
+        return importRows(user, input, INSERT_LIABILITY_SQL, LIABILITY_ARG_TYPES, List.of("name", "type", "currentbalance"), row -> {
+            CustomLiabilityTypeDTO type = types.findByTypeName(row.required("type").toUpperCase(Locale.ROOT))
+                    .or(() -> types.findByDisplayName(row.required("type")))
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown liability type: " + row.get("type")));
+            return new Object[]{
+                    user.getId(),
+                    row.text("name", 255, true),
+                    type.getId(),
+                    row.requiredDecimal("currentbalance", 13),
+                    row.decimal("originalamount", 13),
+                    row.date("startdate"),
+                    row.date("enddate"),
+                    row.decimal("interestrate", 3),
+                    row.decimal("monthlypayment", 13),
+                    row.text("lender", 255, false),
+                    row.get("description")
+            };
+        });
+    }
+
+    private static String symbol(Row row) {
+        try {
+            return AssetService.normalizeSymbol(row.get("symbol"));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private ImportResultDTO importRows(User user, InputStream input, String sql, int[] argTypes,
+                                       List<String> requiredColumns, RowMapper mapper) {
+        long start = System.nanoTime();
+        ImportResultDTO result = new ImportResultDTO();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxFieldLength)) {
+            Map<String, Integer> columns = readHeader(reader, requiredColumns);
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                long rowNumber = result.getRowsRead() + 1;
+                if (rowNumber > maxRows) {
+                    throw new RuntimeException("Import is limited to " + maxRows + " rows");
+                }
+                result.setRowsRead(rowNumber);
+                try {
+                    batch.add(mapper.map(new Row(columns, record)));
+                } catch (IllegalArgumentException e) {
+                    result.setRowsFailed(result.getRowsFailed() + 1);
+                    if (result.getErrors().size() < maxReportedErrors) {
+                        result.getErrors().add(new ImportResultDTO.RowError(rowNumber, e.getMessage()));
+                    }
+                }
+                if (batch.size() >= batchSize) {
+                    result.setRowsImported(result.getRowsImported() + flush(sql, argTypes, batch));
+                }
+            }
+            result.setRowsImported(result.getRowsImported() + flush(sql, argTypes, batch));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read import file: " + e.getMessage(), e);
+        }
+
+        if (result.getRowsImported() > 0) {
+            dataVersionService.bump(user.getId());
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        result.setDurationMillis(durationMillis);
+        result.setRowsPerSecond(result.getRowsRead() * 1000 / Math.max(durationMillis, 1));
+        log.info("Imported {} of {} rows for user {} in {} ms ({} rows/s)", result.getRowsImported(),
+                result.getRowsRead(), user.getId(), durationMillis, result.getRowsPerSecond());
+        return result;
+    }
+
+    private int flush(String sql, int[] argTypes, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, batch, argTypes);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private Map<String, Integer> readHeader(CsvReader reader, List<String> requiredColumns) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new RuntimeException("Import file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+        for (String column : requiredColumns) {
+            if (!columns.containsKey(column)) {
+                throw new RuntimeException("Missing required column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private interface RowMapper {
+        Object[] map(Row row);
+    }
+
+    /**
+     * One CSV record addressed by normalized column name. Parse failures throw IllegalArgumentException,
+     * which marks the row as failed.
+     */
+    private static final class Row {
+
+        private final Map<String, Integer> columns;
+        private final List<String> values;
+
+        Row(Map<String, Integer> columns, List<String> values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String required(String column) {
+            String value = get(column);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for " + column);
+            }
+            return value;
+        }
+
+        String text(String column, int maxLength, boolean required) {
+            String value = required ? required(column) : get(column);
+            if (value != null && value.length() > maxLength) {
+                throw new IllegalArgumentException(column + " is longer than " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        /**
+         * Parsed number, limited to the integer digits the column's NUMERIC type can hold
+         */
+        BigDecimal decimal(String column, int maxIntegerDigits) {
+            String value = get(column);
+            if (value == null) {
+                return null;
+            }
+            BigDecimal number;
+            try {
+                // Grouping separators are accepted in both western and Indian styles
+                number = new BigDecimal(value.replace(",", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + column + ": " + value);
+            }
+            if (number.precision() - number.scale() > maxIntegerDigits) {
+                throw new IllegalArgumentException("Number too large for " + column + ": " + value);
+            }
+            return number;
+        }
+
+        BigDecimal requiredDecimal(String column, int maxIntegerDigits) {
+            required(column);
+            return decimal(column, maxIntegerDigits);
+        }
+
+        LocalDate date(String column) {
+            String value = get(column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date for " + column + " (expected yyyy-MM-dd): " + value);
+            }
+        }
+
+        Boolean bool(String column) {
+            String value = get(column);
+            if (value == null) {
+                return false;
+            }
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "y", "1":
+                    return true;
+                case "false", "no", "n", "0":
+                    return false;
+                default:
+                    throw new IllegalArgumentException("Invalid boolean for " + column + ": " + value);
+            }
+        }
+    }
+}
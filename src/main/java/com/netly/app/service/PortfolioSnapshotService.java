@@ -12,6 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,10 +27,13 @@ public class PortfolioSnapshotService {
     private final PortfolioSnapshotRepository portfolioSnapshotRepository;
     private final AssetSnapshotRepository assetSnapshotRepository;
     private final LiabilitySnapshotRepository liabilitySnapshotRepository;
+    private final TypeSnapshotRepository typeSnapshotRepository;
     private final AssetRepository assetRepository;
     private final LiabilityRepository liabilityRepository;
     private final UserRepository userRepository;
     private final AssetService assetService;
+    private final DataVersionService dataVersionService;
+    private final UserEventPublisher userEventPublisher;
 
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -35,6 +41,14 @@ public class PortfolioSnapshotService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * Whether a user already has a snapshot for the date (lets the scheduler skip users on a resumed run)
+     */
+    @Transactional(readOnly = true)
+    public boolean hasSnapshot(Long userId, LocalDate snapshotDate) {
+        return portfolioSnapshotRepository.existsByUserIdAndSnapshotDate(userId, snapshotDate);
+    }
+
     /**
      * Create a snapshot for a specific user (used by scheduler)
      */
@@ -64,6 +78,10 @@ public class PortfolioSnapshotService {
 
         portfolioSnapshot = portfolioSnapshotRepository.save(portfolioSnapshot);
 
+        // Per-type aggregates, keyed by type display name
+        Map<String, TypeSnapshot> assetTypeSnapshots = new LinkedHashMap<>();
+        Map<String, TypeSnapshot> liabilityTypeSnapshots = new LinkedHashMap<>();
+
         // Create asset snapshots - all values are in INR
         List<Asset> assets = assetRepository.findByUserOrderByUpdatedAtDesc(user);
         for (Asset asset : assets) {
@@ -76,6 +94,9 @@ public class PortfolioSnapshotService {
             assetSnapshot.setGainLoss(asset.getGainLoss());
             assetSnapshot.setValueInInr(asset.getCurrentValue());
             assetSnapshotRepository.save(assetSnapshot);
+
+            accumulateTypeSnapshot(assetTypeSnapshots, portfolioSnapshot, TypeSnapshot.TypeCategory.ASSET,
+                    assetSnapshot.getAssetTypeName(), assetSnapshot.getValueInInr(), assetSnapshot.getGainLoss());
         }
 
         // Create liability snapshots - all values are in INR
@@ -89,14 +110,45 @@ public class PortfolioSnapshotService {
             liabilitySnapshot.setCurrentBalance(liability.getCurrentBalance());
             liabilitySnapshot.setBalanceInInr(liability.getCurrentBalance());
             liabilitySnapshotRepository.save(liabilitySnapshot);
+
+            accumulateTypeSnapshot(liabilityTypeSnapshots, portfolioSnapshot, TypeSnapshot.TypeCategory.LIABILITY,
+                    liabilitySnapshot.getLiabilityTypeName(), liabilitySnapshot.getBalanceInInr(), null);
         }
 
+        typeSnapshotRepository.saveAll(assetTypeSnapshots.values());
+        typeSnapshotRepository.saveAll(liabilityTypeSnapshots.values());
+        dataVersionService.bump(userId);
+        userEventPublisher.publish(userId, UserEvent.SNAPSHOT_CREATED, Map.of("snapshotDate", snapshotDate.toString()));
+
         log.info("Created portfolio snapshot for user {} on date {} with {} assets and {} liabilities",
                 userId, snapshotDate, assets.size(), liabilities.size());
 
         return portfolioSnapshot;
     }
 
+    private void accumulateTypeSnapshot(Map<String, TypeSnapshot> typeSnapshots,
+                                        PortfolioSnapshot portfolioSnapshot,
+                                        TypeSnapshot.TypeCategory category,
+                                        String typeName,
+                                        BigDecimal value,
+                                        BigDecimal gain) {
+        TypeSnapshot typeSnapshot = typeSnapshots.computeIfAbsent(typeName, name -> {
+            TypeSnapshot newSnapshot = new TypeSnapshot();
+            newSnapshot.setPortfolioSnapshot(portfolioSnapshot);
+            newSnapshot.setUserId(portfolioSnapshot.getUser().getId());
+            newSnapshot.setSnapshotDate(portfolioSnapshot.getSnapshotDate());
+            newSnapshot.setCategory(category);
+            newSnapshot.setTypeName(name);
+            newSnapshot.setTotalValue(BigDecimal.ZERO);
+            newSnapshot.setTotalGain(BigDecimal.ZERO);
+            newSnapshot.setItemCount(0);
+            return newSnapshot;
+        });
+        typeSnapshot.setTotalValue(typeSnapshot.getTotalValue().add(value));
+        typeSnapshot.setTotalGain(typeSnapshot.getTotalGain().add(gain != null ? gain : BigDecimal.ZERO));
+        typeSnapshot.setItemCount(typeSnapshot.getItemCount() + 1);
+    }
+
     /**
      * Create a snapshot for current user
      */
@@ -165,6 +217,78 @@ public class PortfolioSnapshotService {
         return history;
     }
 
+    /**
+     * Get portfolio totals plus every asset type and liability type series in one pass (for charting)
+     */
+    @Transactional(readOnly = true)
+    public PortfolioHistorySeriesDTO getHistorySeries(Integer weeks) {
+        User currentUser = getCurrentUser();
+        LocalDate startDate = LocalDate.now().minusWeeks(weeks != null ? weeks : 12);
+
+        List<Object[]> rows = portfolioSnapshotRepository
+                .findRecentSnapshotsWithTypeSnapshots(currentUser, startDate);
+
+        // Rows are ordered by date, with one row per type snapshot (or a single null row)
+        List<PortfolioSnapshot> snapshots = new ArrayList<>();
+        List<TypeSnapshot> typeSnapshots = new ArrayList<>();
+        List<Integer> typeSnapshotIndexes = new ArrayList<>();
+        for (Object[] row : rows) {
+            PortfolioSnapshot ps = (PortfolioSnapshot) row[0];
+            if (snapshots.isEmpty() || !snapshots.get(snapshots.size() - 1).getId().equals(ps.getId())) {
+                snapshots.add(ps);
+            }
+            if (row[1] != null) {
+                typeSnapshots.add((TypeSnapshot) row[1]);
+                typeSnapshotIndexes.add(snapshots.size() - 1);
+            }
+        }
+
+        int size = snapshots.size();
+        Map<String, PortfolioHistorySeriesDTO.TypeSeries> assetTypes = new TreeMap<>();
+        Map<String, PortfolioHistorySeriesDTO.TypeSeries> liabilityTypes = new TreeMap<>();
+        for (int i = 0; i < typeSnapshots.size(); i++) {
+            TypeSnapshot typeSnapshot = typeSnapshots.get(i);
+            int index = typeSnapshotIndexes.get(i);
+            if (typeSnapshot.getCategory() == TypeSnapshot.TypeCategory.ASSET) {
+                PortfolioHistorySeriesDTO.TypeSeries series = assetTypes.computeIfAbsent(
+                        typeSnapshot.getTypeName(), name -> new PortfolioHistorySeriesDTO.TypeSeries(
+                                zeroList(size), zeroList(size)));
+                series.getValues().set(index, typeSnapshot.getTotalValue());
+                series.getGains().set(index, typeSnapshot.getTotalGain());
+            } else {
+                PortfolioHistorySeriesDTO.TypeSeries series = liabilityTypes.computeIfAbsent(
+                        typeSnapshot.getTypeName(), name -> new PortfolioHistorySeriesDTO.TypeSeries(
+                                zeroList(size), new ArrayList<>()));
+                series.getValues().set(index, typeSnapshot.getTotalValue());
+            }
+        }
+
+        PortfolioHistorySeriesDTO history = new PortfolioHistorySeriesDTO();
+        history.setDates(snapshots.stream()
+                .map(s -> s.getSnapshotDate().toString())
+                .collect(Collectors.toList()));
+        history.setTotalAssets(snapshots.stream()
+                .map(PortfolioSnapshot::getTotalAssets)
+                .collect(Collectors.toList()));
+        history.setTotalLiabilities(snapshots.stream()
+                .map(PortfolioSnapshot::getTotalLiabilities)
+                .collect(Collectors.toList()));
+        history.setNetWorth(snapshots.stream()
+                .map(PortfolioSnapshot::getNetWorth)
+                .collect(Collectors.toList()));
+        history.setTotalGains(snapshots.stream()
+                .map(PortfolioSnapshot::getTotalGains)
+                .collect(Collectors.toList()));
+        history.setAssetTypes(assetTypes);
+        history.setLiabilityTypes(liabilityTypes);
+
+        return history;
+    }
+
+    private List<BigDecimal> zeroList(int size) {
+        return new ArrayList<>(Collections.nCopies(size, BigDecimal.ZERO));
+    }
+
     /**
      * Get history for a specific asset
      */
@@ -190,13 +314,13 @@ public class PortfolioSnapshotService {
         User currentUser = getCurrentUser();
         LocalDate startDate = LocalDate.now().minusWeeks(weeks != null ? weeks : 12);
 
-        List<PortfolioSnapshot> portfolioSnapshots = portfolioSnapshotRepository
-                .findRecentSnapshots(currentUser, startDate);
+        List<LocalDate> snapshotDates = portfolioSnapshotRepository
+                .findRecentSnapshotDates(currentUser, startDate);
 
-        List<AssetSnapshot> assetSnapshots = assetSnapshotRepository
-                .findByPortfolioSnapshotsAndAssetTypeName(portfolioSnapshots, assetTypeName);
+        List<TypeSnapshot> typeSnapshots = typeSnapshotRepository
+                .findRecentByType(currentUser.getId(), TypeSnapshot.TypeCategory.ASSET, assetTypeName, startDate);
 
-        return buildAssetHistory(portfolioSnapshots, assetSnapshots);
+        return buildTypeHistory(snapshotDates, typeSnapshots, TypeSnapshot.TypeCategory.ASSET);
     }
 
     /**
@@ -224,13 +348,13 @@ public class PortfolioSnapshotService {
         User currentUser = getCurrentUser();
         LocalDate startDate = LocalDate.now().minusWeeks(weeks != null ? weeks : 12);
 
-        List<PortfolioSnapshot> portfolioSnapshots = portfolioSnapshotRepository
-                .findRecentSnapshots(currentUser, startDate);
+        List<LocalDate> snapshotDates = portfolioSnapshotRepository
+                .findRecentSnapshotDates(currentUser, startDate);
 
-        List<LiabilitySnapshot> liabilitySnapshots = liabilitySnapshotRepository
-                .findByPortfolioSnapshotsAndLiabilityTypeName(portfolioSnapshots, liabilityTypeName);
+        List<TypeSnapshot> typeSnapshots = typeSnapshotRepository
+                .findRecentByType(currentUser.getId(), TypeSnapshot.TypeCategory.LIABILITY, liabilityTypeName, startDate);
 
-        return buildLiabilityHistory(portfolioSnapshots, liabilitySnapshots);
+        return buildTypeHistory(snapshotDates, typeSnapshots, TypeSnapshot.TypeCategory.LIABILITY);
     }
 
     private PortfolioHistoryDTO buildAssetHistory(
@@ -304,6 +428,42 @@ public class PortfolioSnapshotService {
         return history;
     }
 
+    private PortfolioHistoryDTO buildTypeHistory(
+            List<LocalDate> snapshotDates,
+            List<TypeSnapshot> typeSnapshots,
+            TypeSnapshot.TypeCategory category) {
+
+        // One aggregate row per date at most; dates without holdings of this type are zero
+        Map<LocalDate, TypeSnapshot> snapshotsByDate = typeSnapshots.stream()
+                .collect(Collectors.toMap(TypeSnapshot::getSnapshotDate, t -> t, (a, b) -> a));
+
+        PortfolioHistoryDTO history = new PortfolioHistoryDTO();
+        List<String> dates = new ArrayList<>();
+        List<BigDecimal> values = new ArrayList<>();
+        List<BigDecimal> gains = new ArrayList<>();
+
+        for (LocalDate date : snapshotDates) {
+            dates.add(date.toString());
+            TypeSnapshot typeSnapshot = snapshotsByDate.get(date);
+            values.add(typeSnapshot != null ? typeSnapshot.getTotalValue() : BigDecimal.ZERO);
+            gains.add(typeSnapshot != null ? typeSnapshot.getTotalGain() : BigDecimal.ZERO);
+        }
+
+        history.setDates(dates);
+        history.setNetWorth(new ArrayList<>());
+        if (category == TypeSnapshot.TypeCategory.ASSET) {
+            history.setTotalAssets(values);
+            history.setTotalGains(gains);
+            history.setTotalLiabilities(new ArrayList<>());
+        } else {
+            history.setTotalLiabilities(values);
+            history.setTotalAssets(new ArrayList<>());
+            history.setTotalGains(new ArrayList<>());
+        }
+
+        return history;
+    }
+
     private PortfolioSnapshotDTO convertToDTO(PortfolioSnapshot snapshot) {
         PortfolioSnapshotDTO dto = new PortfolioSnapshotDTO();
         dto.setId(snapshot.getId());
@@ -0,0 +1,24 @@
+package com.netly.app.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Source of market prices for asset symbols. Register one implementation as a Spring bean to enable
+ * price ingestion; {@link PriceIngestionService} calls it in batches of at most {@link #getMaxBatchSize()}.
+ */
+public interface PriceFeedProvider {
+
+    String getName();
+
+    /**
+     * Latest unit price (in INR) per symbol. Symbols the provider does not know are left out of the result.
+     */
+    Map<String, BigDecimal> fetchPrices(Collection<String> symbols) throws IOException;
+
+    default int getMaxBatchSize() {
+        return 500;
+    }
+}
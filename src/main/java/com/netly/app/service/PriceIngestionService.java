@@ -0,0 +1,144 @@
+package com.netly.app.service;
+
+import com.netly.app.repository.AssetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically pulls prices for every symbol held by any user from the configured {@link PriceFeedProvider}
+ * and revalues the linked holdings in bulk. Prices are cached per symbol, so a symbol fetched within the TTL
+ * is not requested again; each batch of symbols is revalued for all users in its own transaction.
+ */
+@Slf4j
+@Service
+public class PriceIngestionService {
+
+    private final AssetRepository assetRepository;
+    private final HoldingRevaluationService holdingRevaluationService;
+    private final ObjectProvider<PriceFeedProvider> priceFeedProvider;
+    private final Map<String, CachedPrice> priceCache = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${price.feed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${price.feed.batch.size:500}")
+    private int batchSize;
+
+    @Value("${price.feed.cache.ttl.minutes:10}")
+    private long cacheTtlMinutes;
+
+    public PriceIngestionService(AssetRepository assetRepository,
+                                 HoldingRevaluationService holdingRevaluationService,
+                                 ObjectProvider<PriceFeedProvider> priceFeedProvider) {
+        this.assetRepository = assetRepository;
+        this.holdingRevaluationService = holdingRevaluationService;
+        this.priceFeedProvider = priceFeedProvider;
+    }
+
+    @Scheduled(cron = "${price.feed.cron:0 */15 * * * *}", zone = "UTC")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refreshPrices();
+        }
+    }
+
+    /**
+     * Fetch prices for all held symbols and revalue holdings. Returns the number of users whose
+     * holdings changed; a run already in progress makes this a no-op.
+     */
+    public int refreshPrices() {
+        PriceFeedProvider provider = priceFeedProvider.getIfAvailable();
+        if (provider == null) {
+            log.warn("Price ingestion is enabled but no price feed provider is configured");
+            return 0;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Price ingestion already running, skipping");
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<String> symbols = assetRepository.findDistinctSymbols();
+            int chunkSize = Math.max(1, Math.min(batchSize, provider.getMaxBatchSize()));
+            Set<Long> usersUpdated = new HashSet<>();
+            int pricesApplied = 0;
+            int failedBatches = 0;
+
+            for (int from = 0; from < symbols.size(); from += chunkSize) {
+                List<String> batch = symbols.subList(from, Math.min(from + chunkSize, symbols.size()));
+                try {
+                    Map<String, BigDecimal> prices = pricesFor(provider, batch);
+                    pricesApplied += prices.size();
+                    usersUpdated.addAll(holdingRevaluationService.revalueHoldings(prices));
+                } catch (Exception e) {
+                    failedBatches++;
+                    log.error("Price batch starting at {} from {} failed: {}", batch.get(0), provider.getName(), e.getMessage());
+                }
+            }
+
+            log.info("Price ingestion from {} completed in {} ms. Symbols: {}, Prices applied: {}, Users revalued: {}, Failed batches: {}",
+                    provider.getName(), (System.nanoTime() - start) / 1_000_000, symbols.size(), pricesApplied,
+                    usersUpdated.size(), failedBatches);
+            return usersUpdated.size();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, BigDecimal> pricesFor(PriceFeedProvider provider, List<String> symbols) throws IOException {
+        Instant freshAfter = Instant.now().minus(Duration.ofMinutes(cacheTtlMinutes));
+        Map<String, BigDecimal> prices = new HashMap<>();
+        List<String> toFetch = new ArrayList<>();
+
+        for (String symbol : symbols) {
+            CachedPrice cached = priceCache.get(symbol);
+            if (cached != null && cached.fetchedAt.isAfter(freshAfter)) {
+                prices.put(symbol, cached.price);
+            } else {
+                toFetch.add(symbol);
+            }
+        }
+
+        if (!toFetch.isEmpty()) {
+            Instant fetchedAt = Instant.now();
+            provider.fetchPrices(toFetch).forEach((symbol, price) -> {
+                String normalized = symbol.toUpperCase(Locale.ROOT);
+                if (price != null && price.signum() >= 0) {
+                    priceCache.put(normalized, new CachedPrice(price, fetchedAt));
+                    prices.put(normalized, price);
+                }
+            });
+        }
+        return prices;
+    }
+
+    private static final class CachedPrice {
+
+        private final BigDecimal price;
+        private final Instant fetchedAt;
+
+        CachedPrice(BigDecimal price, Instant fetchedAt) {
+            this.price = price;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
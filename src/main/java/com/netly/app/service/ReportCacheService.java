@@ -0,0 +1,101 @@
+package com.netly.app.service;
+
+import com.netly.app.model.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Rendered report HTML shared across instances in Redis. Entries are keyed by user, data version, a hash of
+ * the email templates and the report date, so scheduled and manual sends of an unchanged report reuse one
+ * render, and any data, template or date change simply misses. Stale entries are dropped by their TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportCacheService {
+
+    public static final String PORTFOLIO_REPORT = "portfolio";
+    public static final String BUDGET_REPORT = "budget";
+
+    private static final String KEY_PREFIX = "netly-report-html:";
+    private static final String TEMPLATE_PATTERN = "classpath:templates/email/*.html";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final DataVersionService dataVersionService;
+    private String templateVersion;
+
+    @Value("${report.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.cache.ttl.hours:36}")
+    private long ttlHours;
+
+    @PostConstruct
+    public void computeTemplateVersion() throws IOException, NoSuchAlgorithmException {
+        Resource[] templates = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_PATTERN);
+        Arrays.sort(templates, Comparator.comparing(Resource::getFilename, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (Resource template : templates) {
+            digest.update(String.valueOf(template.getFilename()).getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = template.getInputStream()) {
+                digest.update(in.readAllBytes());
+            }
+        }
+        templateVersion = HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        log.info("Report template version {} ({} templates)", templateVersion, templates.length);
+    }
+
+    /**
+     * Cached report body, or the renderer's output (which is then cached). Redis failures fall back to rendering.
+     */
+    public String getOrRender(String reportType, User user, LocalDate reportDate, Supplier<String> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+
+        // The version is read before the renderer loads data, so an entry never holds data older than its key
+        long dataVersion = dataVersionService.getVersion(user.getId());
+        // The user's name appears in the report but is not covered by the data version
+        String key = KEY_PREFIX + reportType + ":" + user.getId() + ":" + dataVersion + ":" + templateVersion
+                + ":" + reportDate + ":" + Integer.toHexString(Objects.hashCode(user.getName()));
+
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                log.debug("Report cache hit for {}", key);
+                return cached;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Report cache read failed, rendering instead: {}", e.getMessage());
+            return renderer.get();
+        }
+
+        String html = renderer.get();
+        try {
+            redisTemplate.opsForValue().set(key, html, Duration.ofHours(ttlHours));
+        } catch (RuntimeException e) {
+            log.warn("Report cache write failed: {}", e.getMessage());
+        }
+        return html;
+    }
+}
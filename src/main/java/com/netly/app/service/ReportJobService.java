@@ -0,0 +1,187 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netly.app.dto.ReportJobDTO;
+import com.netly.app.model.User;
+import com.netly.app.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs manually requested reports off the request thread. Job status is kept in Redis so any instance
+ * can answer status requests, and a per-user, per-report lock makes repeated requests join the job
+ * that is already queued, running or just completed instead of rendering and sending the report again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private static final String JOB_KEY_PREFIX = "netly-report-job:";
+    private static final String ACTIVE_KEY_PREFIX = "netly-report-job:active:";
+
+    private final ReportingService reportingService;
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private ThreadPoolTaskExecutor reportExecutor;
+
+    @Value("${report.job.threads:2}")
+    private int threads;
+
+    @Value("${report.job.queue.capacity:100}")
+    private int queueCapacity;
+
+    @Value("${report.job.timeout.minutes:10}")
+    private long jobTimeoutMinutes;
+
+    @Value("${report.job.dedupe.seconds:120}")
+    private long dedupeSeconds;
+
+    @Value("${report.job.status.ttl.hours:24}")
+    private long statusTtlHours;
+
+    @PostConstruct
+    public void startExecutor() {
+        reportExecutor = new ThreadPoolTaskExecutor();
+        reportExecutor.setCorePoolSize(threads);
+        reportExecutor.setMaxPoolSize(threads);
+        reportExecutor.setQueueCapacity(queueCapacity);
+        reportExecutor.setThreadNamePrefix("report-job-");
+        reportExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void stopExecutor() {
+        if (reportExecutor != null) {
+            reportExecutor.shutdown();
+        }
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Queue a report for the current user, or return the user's pending or recently completed job for it
+     */
+    public ReportJobDTO submit(ReportJobDTO.ReportType reportType) {
+        User user = getCurrentUser();
+        String activeKey = ACTIVE_KEY_PREFIX + user.getId() + ":" + reportType;
+
+        ReportJobDTO job = new ReportJobDTO();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setReportType(reportType);
+        job.setStatus(ReportJobDTO.Status.QUEUED);
+        job.setCreatedAt(Instant.now());
+
+        // The lock outlives a stuck job only until the timeout, so a crashed instance cannot block the user
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(activeKey, job.getJobId(), Duration.ofMinutes(jobTimeoutMinutes));
+        if (!Boolean.TRUE.equals(acquired)) {
+            String existingJobId = redisTemplate.opsForValue().get(activeKey);
+            Optional<ReportJobDTO> existing = existingJobId != null
+                    ? findJob(user.getId(), existingJobId) : Optional.empty();
+            if (existing.isPresent()) {
+                existing.get().setDeduplicated(true);
+                return existing.get();
+            }
+            redisTemplate.opsForValue().set(activeKey, job.getJobId(), Duration.ofMinutes(jobTimeoutMinutes));
+        }
+
+        saveJob(user.getId(), job);
+        // The worker updates the job from here on, so the response is a snapshot taken before handing it over
+        ReportJobDTO response = copyOf(job);
+        try {
+            reportExecutor.execute(() -> runJob(user.getId(), job, activeKey));
+        } catch (TaskRejectedException e) {
+            redisTemplate.delete(activeKey);
+            job.setStatus(ReportJobDTO.Status.FAILED);
+            job.setError("Report queue is full, please try again later");
+            job.setCompletedAt(Instant.now());
+            saveJob(user.getId(), job);
+            return job;
+        }
+        return response;
+    }
+
+    /**
+     * Status of one of the current user's report jobs, empty when it is unknown or has expired
+     */
+    public Optional<ReportJobDTO> getJob(String jobId) {
+        return findJob(getCurrentUser().getId(), jobId);
+    }
+
+    private void runJob(Long userId, ReportJobDTO job, String activeKey) {
+        job.setStatus(ReportJobDTO.Status.RUNNING);
+        saveJob(userId, job);
+        try {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            if (job.getReportType() == ReportJobDTO.ReportType.BUDGET) {
+                reportingService.sendBudgetReportForUser(user);
+            } else {
+                reportingService.sendReportForUser(user);
+            }
+            job.setStatus(ReportJobDTO.Status.COMPLETED);
+            // Keep the lock a little longer so a burst of clicks still maps to this job
+            redisTemplate.expire(activeKey, Duration.ofSeconds(dedupeSeconds));
+        } catch (Exception e) {
+            log.error("Report job {} ({}) failed for user {}", job.getJobId(), job.getReportType(), userId, e);
+            job.setStatus(ReportJobDTO.Status.FAILED);
+            job.setError("Failed to send " + job.getReportType().name().toLowerCase() + " report");
+            redisTemplate.delete(activeKey);
+        }
+        job.setCompletedAt(Instant.now());
+        saveJob(userId, job);
+    }
+
+    private void saveJob(Long userId, ReportJobDTO job) {
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY_PREFIX + userId + ":" + job.getJobId(),
+                    objectMapper.writeValueAsString(job), Duration.ofHours(statusTtlHours));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store report job status", e);
+        }
+    }
+
+    private static ReportJobDTO copyOf(ReportJobDTO job) {
+        ReportJobDTO copy = new ReportJobDTO();
+        copy.setJobId(job.getJobId());
+        copy.setReportType(job.getReportType());
+        copy.setStatus(job.getStatus());
+        copy.setError(job.getError());
+        copy.setCreatedAt(job.getCreatedAt());
+        copy.setCompletedAt(job.getCompletedAt());
+        copy.setDeduplicated(job.isDeduplicated());
+        return copy;
+    }
+
+    private Optional<ReportJobDTO> findJob(Long userId, String jobId) {
+        String json = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + userId + ":" + jobId);
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json, ReportJobDTO.class));
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -6,13 +6,12 @@ import com.netly.app.dto.BudgetSummaryDTO;
 import com.netly.app.dto.LiabilityDTO;
 import com.netly.app.dto.PortfolioSummaryDTO;
 import com.netly.app.dto.ResendEmailPayload;
+import com.netly.app.dto.UserEvent;
 import com.netly.app.model.BudgetItem;
 import com.netly.app.model.User;
 import com.netly.app.repository.BudgetItemRepository;
-import com.netly.app.repository.UserRepository;
 import com.netly.app.util.IndianNumberFormatter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -22,6 +21,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,64 +33,58 @@ public class ReportingService {
     private final AssetService assetService;
     private final LiabilityService liabilityService;
     private final BudgetItemRepository budgetItemRepository;
-    private final UserRepository userRepository;
+    private final BudgetSummaryService budgetSummaryService;
+    private final UserEventPublisher userEventPublisher;
+    private final ReportCacheService reportCacheService;
+    private final UserRecipientService userRecipientService;
 
-    public void sendReport() {
-        // Get current user
-        User currentUser = getCurrentUser();
-        sendReportForUser(currentUser);
+    /**
+     * Send portfolio report for a specific user
+     * @param user The user to send the report to
+     */
+    public void sendReportForUser(User user) {
+        sendReportForUser(user, userRecipientService.getSecondaryEmails(user.getId()));
     }
 
     /**
-     * Send portfolio report for a specific user (used by scheduler)
+     * Send portfolio report for a specific user with pre-loaded secondary emails (used by scheduler)
      * @param user The user to send the report to
+     * @param secondaryEmails The user's secondary email addresses
      */
-    public void sendReportForUser(User user) {
-        // Fetch portfolio data for the user
-        PortfolioSummaryDTO portfolioSummary = assetService.getPortfolioSummaryForUser(user.getId());
-        List<AssetDTO> assets = assetService.getAllAssetsForUser(user.getId());
-        List<LiabilityDTO> liabilities = liabilityService.getAllLiabilitiesForUser(user.getId());
+    public void sendReportForUser(User user, List<String> secondaryEmails) {
+        // Rendered body is reused while the user's data, the templates and the date are unchanged
+        LocalDate reportDate = LocalDate.now();
+        String html = reportCacheService.getOrRender(ReportCacheService.PORTFOLIO_REPORT, user, reportDate, () -> {
+            // Fetch portfolio data for the user
+            PortfolioSummaryDTO portfolioSummary = assetService.getPortfolioSummaryForUser(user.getId());
+            List<AssetDTO> assets = assetService.getAllAssetsForUser(user.getId());
+            List<LiabilityDTO> liabilities = liabilityService.getAllLiabilitiesForUser(user.getId());
+            return getEmailBody(user, reportDate, portfolioSummary, assets, liabilities);
+        });
 
         // Collect all email addresses (primary + secondary)
-        List<String> allEmails = new java.util.ArrayList<>();
-        allEmails.add(user.getEmail()); // Primary email
-
-        // Add secondary emails if they exist
-        if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-            String[] secondaryEmails = user.getSecondaryEmails().split(",");
-            for (String email : secondaryEmails) {
-                String trimmedEmail = email.trim();
-                if (!trimmedEmail.isEmpty()) {
-                    allEmails.add(trimmedEmail);
-                }
-            }
-        }
+        List<String> allEmails = userRecipientService.getReportRecipients(user, secondaryEmails);
 
         // Prepare email
         String[] to = allEmails.toArray(new String[0]);
         ResendEmailPayload resendEmailPayload = new ResendEmailPayload();
         resendEmailPayload.setTo(to);
-        resendEmailPayload.setSubject("📊 Your Netly Portfolio Report - " + LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
-        resendEmailPayload.setHtml(this.getEmailBody(user, portfolioSummary, assets, liabilities));
+        resendEmailPayload.setSubject("📊 Your Netly Portfolio Report - " + reportDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
+        resendEmailPayload.setHtml(html);
 
         // Send email
         resendEmailService.sendEmail(resendEmailPayload);
+        userEventPublisher.publish(user.getId(), UserEvent.REPORT_SENT, Map.of("report", "PORTFOLIO"));
     }
 
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    }
-
-    private String getEmailBody(User user, PortfolioSummaryDTO portfolioSummary,
+    private String getEmailBody(User user, LocalDate reportDate, PortfolioSummaryDTO portfolioSummary,
                                  List<AssetDTO> assets, List<LiabilityDTO> liabilities) {
         // Create context for the portfolio report template
         Context context = new Context();
 
         // Set user info
         context.setVariable("userName", user.getName());
-        context.setVariable("reportDate", LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
+        context.setVariable("reportDate", reportDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
 
         // Set portfolio summary
         context.setVariable("portfolioSummary", portfolioSummary);
@@ -121,107 +115,43 @@ public class ReportingService {
     }
 
     /**
-     * Send budget report for the current authenticated user
+     * Send budget report for a specific user
+     * @param user The user to send the report to
      */
-    public void sendBudgetReport() {
-        User currentUser = getCurrentUser();
-        sendBudgetReportForUser(currentUser);
+    public void sendBudgetReportForUser(User user) {
+        sendBudgetReportForUser(user, userRecipientService.getSecondaryEmails(user.getId()));
     }
 
     /**
-     * Send budget report for a specific user (used by scheduler)
+     * Send budget report for a specific user with pre-loaded secondary emails (used by scheduler)
      * @param user The user to send the report to
+     * @param secondaryEmails The user's secondary email addresses
      */
-    public void sendBudgetReportForUser(User user) {
-        // Fetch budget data for the user
-        BudgetSummaryDTO budgetSummary = calculateBudgetSummaryForUser(user.getId());
-        List<BudgetItemDTO> incomeItems = getBudgetItemsForUser(user.getId(), BudgetItem.BudgetItemType.INCOME);
-        List<BudgetItemDTO> expenseItems = getBudgetItemsForUser(user.getId(), BudgetItem.BudgetItemType.EXPENSE);
+    public void sendBudgetReportForUser(User user, List<String> secondaryEmails) {
+        LocalDate reportDate = LocalDate.now();
+        String html = reportCacheService.getOrRender(ReportCacheService.BUDGET_REPORT, user, reportDate, () -> {
+            // Fetch budget data for the user
+            BudgetSummaryDTO budgetSummary = budgetSummaryService.getSummary(user);
+            Map<Boolean, List<BudgetItemDTO>> itemsByIncome = budgetItemRepository.findByUserIdOrderByDisplayOrderAsc(user.getId())
+                    .stream()
+                    .map(this::convertBudgetItemToDTO)
+                    .collect(Collectors.partitioningBy(item -> BudgetItem.BudgetItemType.INCOME.name().equals(item.getItemType())));
+            return getBudgetEmailBody(user, reportDate, budgetSummary, itemsByIncome.get(true), itemsByIncome.get(false));
+        });
 
         // Collect all email addresses (primary + secondary)
-        List<String> allEmails = new java.util.ArrayList<>();
-        allEmails.add(user.getEmail()); // Primary email
-
-        // Add secondary emails if they exist
-        if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-            String[] secondaryEmails = user.getSecondaryEmails().split(",");
-            for (String email : secondaryEmails) {
-                String trimmedEmail = email.trim();
-                if (!trimmedEmail.isEmpty()) {
-                    allEmails.add(trimmedEmail);
-                }
-            }
-        }
+        List<String> allEmails = userRecipientService.getReportRecipients(user, secondaryEmails);
 
         // Prepare email
         String[] to = allEmails.toArray(new String[0]);
         ResendEmailPayload resendEmailPayload = new ResendEmailPayload();
         resendEmailPayload.setTo(to);
-        resendEmailPayload.setSubject("💰 Your Netly Budget Report - " + LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
-        resendEmailPayload.setHtml(this.getBudgetEmailBody(user, budgetSummary, incomeItems, expenseItems));
+        resendEmailPayload.setSubject("💰 Your Netly Budget Report - " + reportDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
+        resendEmailPayload.setHtml(html);
 
         // Send email
         resendEmailService.sendEmail(resendEmailPayload);
-    }
-
-    private BudgetSummaryDTO calculateBudgetSummaryForUser(Long userId) {
-        List<BudgetItem> items = budgetItemRepository.findByUserIdOrderByDisplayOrderAsc(userId);
-
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        BigDecimal totalInvestments = BigDecimal.ZERO;
-        BigDecimal totalNonInvestmentExpenses = BigDecimal.ZERO;
-
-        for (BudgetItem item : items) {
-            if (item.getItemType() == BudgetItem.BudgetItemType.INCOME) {
-                totalIncome = totalIncome.add(item.getAmount());
-            } else if (item.getItemType() == BudgetItem.BudgetItemType.EXPENSE) {
-                totalExpenses = totalExpenses.add(item.getAmount());
-                if (item.getIsInvestment()) {
-                    totalInvestments = totalInvestments.add(item.getAmount());
-                } else {
-                    totalNonInvestmentExpenses = totalNonInvestmentExpenses.add(item.getAmount());
-                }
-            }
-        }
-
-        BigDecimal totalSurplus = totalIncome.subtract(totalExpenses);
-
-        BudgetSummaryDTO summary = new BudgetSummaryDTO();
-        summary.setTotalIncome(totalIncome);
-        summary.setTotalExpenses(totalExpenses);
-        summary.setTotalInvestments(totalInvestments);
-        summary.setTotalNonInvestmentExpenses(totalNonInvestmentExpenses);
-        summary.setTotalSurplus(totalSurplus);
-
-        // Calculate percentages
-        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
-            summary.setInvestmentPercentage(
-                totalInvestments.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-            summary.setNonInvestmentExpensePercentage(
-                totalNonInvestmentExpenses.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-            summary.setSurplusOrDeficitRate(
-                totalSurplus.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-            );
-        } else {
-            summary.setInvestmentPercentage(BigDecimal.ZERO);
-            summary.setNonInvestmentExpensePercentage(BigDecimal.ZERO);
-            summary.setSurplusOrDeficitRate(BigDecimal.ZERO);
-        }
-
-        return summary;
-    }
-
-    private List<BudgetItemDTO> getBudgetItemsForUser(Long userId, BudgetItem.BudgetItemType itemType) {
-        List<BudgetItem> items = budgetItemRepository.findByUserIdAndItemTypeOrderByDisplayOrderAsc(userId, itemType);
-        return items.stream()
-                .map(this::convertBudgetItemToDTO)
-                .collect(Collectors.toList());
+        userEventPublisher.publish(user.getId(), UserEvent.REPORT_SENT, Map.of("report", "BUDGET"));
     }
 
     private BudgetItemDTO convertBudgetItemToDTO(BudgetItem item) {
@@ -238,14 +168,14 @@ public class ReportingService {
         return dto;
     }
 
-    private String getBudgetEmailBody(User user, BudgetSummaryDTO budgetSummary,
+    private String getBudgetEmailBody(User user, LocalDate reportDate, BudgetSummaryDTO budgetSummary,
                                       List<BudgetItemDTO> incomeItems, List<BudgetItemDTO> expenseItems) {
         // Create context for the budget report template
         Context context = new Context();
 
         // Set user info
         context.setVariable("userName", user.getName());
-        context.setVariable("reportDate", LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
+        context.setVariable("reportDate", reportDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
 
         // Set budget summary
         context.setVariable("budgetSummary", budgetSummary);
@@ -5,17 +5,15 @@ import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -35,11 +33,19 @@ public class ResendEmailService {
     @Value("${resend.api.rate.limit.email.interval.seconds}")
     private int emailSendIntervalSeconds;
 
-    private final RestTemplate restTemplate;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${resend.api.max.in-flight:4}")
+    private int maxInFlightSends;
+
+    private final OutboundHttpClient outboundHttpClient;
     private final RedisTemplate<String, ResendEmailPayload> redisTemplate;
     private ScheduledExecutorService emailSenderExecutor;
+    private Semaphore inFlightSends;
 
     private static final String EMAIL_QUEUE_KEY = "netly-email:queue";
+    private static final String RESEND_ENDPOINT = "resend.emails";
 
     public void sendEmail(ResendEmailPayload resendEmailPayload) {
         // Enqueue the email payload for rate-limited sending in Redis
@@ -49,49 +55,55 @@ public class ResendEmailService {
 
     @PostConstruct
     public void startEmailSender() {
-        emailSenderExecutor = Executors.newSingleThreadScheduledExecutor();
+        inFlightSends = new Semaphore(maxInFlightSends);
+
+        // The sender blocks on Redis; on Java 21 it can run on a virtual thread
+        ThreadFactory threadFactory = virtualThreadsEnabled
+                ? new VirtualThreadTaskExecutor("resend-email-").getVirtualThreadFactory()
+                : Executors.defaultThreadFactory();
+        emailSenderExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
         emailSenderExecutor.scheduleWithFixedDelay(() -> {
-            ResendEmailPayload payload = redisTemplate.opsForList().rightPop(EMAIL_QUEUE_KEY);
-            if (payload != null) {
-                try {
-                    log.info("Dequeued email from Redis queue. Subject: {} To: {}", payload.getSubject(), payload.getTo());
-                    this.sendRateLimitedEmail(payload);
-                } catch (Exception ex) {
-                    log.error("Error sending email from Redis queue", ex);
-                }
+            // Sends are pipelined: the loop keeps its pace while earlier requests are in flight,
+            // and only pauses dequeuing when the upstream is slow enough to fill every slot
+            if (!inFlightSends.tryAcquire()) {
+                return;
             }
+            ResendEmailPayload payload;
+            try {
+                payload = redisTemplate.opsForList().rightPop(EMAIL_QUEUE_KEY);
+            } catch (Exception ex) {
+                inFlightSends.release();
+                log.error("Error reading email from Redis queue", ex);
+                return;
+            }
+            if (payload == null) {
+                inFlightSends.release();
+                return;
+            }
+            log.info("Dequeued email from Redis queue. Subject: {} To: {}", payload.getSubject(), payload.getTo());
+            sendRateLimitedEmail(payload).whenComplete((result, error) -> inFlightSends.release());
         }, 0, emailSendIntervalSeconds, TimeUnit.SECONDS);
     }
 
-    private void sendRateLimitedEmail(ResendEmailPayload resendEmailPayload) {
-        try {
-            // 1. Set up HTTP headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-
-            // 2. Assign sender
-            resendEmailPayload.setFrom(senderEmail);
-
-            HttpEntity<ResendEmailPayload> request = new HttpEntity<>(resendEmailPayload, headers);
-
-            // 3. Log before sending
-            log.info("Sending email using Resend API: {}", apiUrl);
-            log.debug("Payload: {}", resendEmailPayload);
-
-            // 4. Send the POST request
-            String response = restTemplate.postForObject(apiUrl, request, String.class);
-
-            // 5. Log success
-            log.info("Email sent successfully. Response: {}", response);
-
-        } catch (HttpClientErrorException | HttpServerErrorException ex) {
-            // Handle HTTP-specific exceptions
-            log.error("HTTP error occurred while sending email. Status: {}, Response: {}", ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
-        } catch (Exception ex) {
-            // Handle general exceptions
-            log.error("Unexpected exception occurred while sending email in ResendEmailService", ex);
-        }
+    private CompletableFuture<Void> sendRateLimitedEmail(ResendEmailPayload resendEmailPayload) {
+        // Assign sender
+        resendEmailPayload.setFrom(senderEmail);
+
+        log.info("Sending email using Resend API: {}", apiUrl);
+        log.debug("Payload: {}", resendEmailPayload);
+
+        return outboundHttpClient.postJsonAsync(RESEND_ENDPOINT, apiUrl, resendEmailPayload, apiKey)
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        log.error("Exception occurred while sending email in ResendEmailService", ex);
+                    } else if (response.statusCode() >= 400) {
+                        log.error("HTTP error occurred while sending email. Status: {}, Response: {}",
+                                response.statusCode(), response.body());
+                    } else {
+                        log.info("Email sent successfully. Response: {}", response.body());
+                    }
+                    return null;
+                });
     }
 
     @PreDestroy
@@ -1,53 +1,48 @@
 package com.netly.app.service;
 
-import com.netly.app.model.User;
 import com.netly.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduledReportService {
 
-    private final UserRepository userRepository;
+    private static final String PORTFOLIO_JOB_NAME = "portfolio-reports";
+    private static final String BUDGET_JOB_NAME = "budget-reports";
+
+    private final BatchJobRunner batchJobRunner;
     private final ReportingService reportingService;
+    private final UserRecipientService userRecipientService;
+
+    @Value("${portfolio.report.cron.expression}")
+    private String portfolioReportCron;
+
+    @Value("${budget.report.cron.expression}")
+    private String budgetReportCron;
 
     /**
      * Sends portfolio reports to all users on the scheduled cron expression.
+     * One run per month: a re-run for the same month only reaches users the previous run did not get to.
      * */
     @Scheduled(cron = "${portfolio.report.cron.expression}", zone = "UTC")
     public void sendPortfolioReportsToAllUsers() {
         log.info("Starting scheduled portfolio report generation for all users...");
-
-        try {
-            // Get all users from database
-            List<User> allUsers = userRepository.findAll();
-            log.info("Found {} users to send reports to", allUsers.size());
-
-            int successCount = 0;
-            int failureCount = 0;
-
-            // Send report to each user
-            for (User user : allUsers) {
-                try {
-                    log.info("Sending portfolio report to user: {} ({})", user.getName(), user.getEmail());
-                    reportingService.sendReportForUser(user);
-                    successCount++;
-                } catch (Exception e) {
-                    log.error("Failed to send report to user: {} ({})", user.getName(), user.getEmail(), e);
-                    failureCount++;
-                }
-            }
-
-            log.info("Scheduled report generation completed. Success: {}, Failed: {}", successCount, failureCount);
-        } catch (Exception e) {
-            log.error("Error during scheduled report generation", e);
-        }
+        sendPortfolioReports(YearMonth.now(ZoneOffset.UTC).toString());
     }
 
     /**
@@ -56,32 +51,79 @@ public class ScheduledReportService {
     @Scheduled(cron = "${budget.report.cron.expression}", zone = "UTC")
     public void sendBudgetReportsToAllUsers() {
         log.info("Starting scheduled budget report generation for all users...");
+        sendBudgetReports(YearMonth.now(ZoneOffset.UTC).toString());
+    }
+
+    /**
+     * Continue report runs interrupted by a restart or failure, and start this month's runs if their cron
+     * fired while no node was up
+     */
+    @Scheduled(fixedDelayString = "${batch.jobs.resume.check.minutes:5}",
+            initialDelayString = "${batch.jobs.resume.check.minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public void resumeInterruptedRuns() {
+        batchJobRunner.findResumableRunKeys(PORTFOLIO_JOB_NAME).forEach(this::sendPortfolioReports);
+        batchJobRunner.findResumableRunKeys(BUDGET_JOB_NAME).forEach(this::sendBudgetReports);
+
+        dueMonth(portfolioReportCron)
+                .filter(runKey -> batchJobRunner.isMissed(PORTFOLIO_JOB_NAME, runKey))
+                .ifPresent(this::sendPortfolioReports);
+        dueMonth(budgetReportCron)
+                .filter(runKey -> batchJobRunner.isMissed(BUDGET_JOB_NAME, runKey))
+                .ifPresent(this::sendBudgetReports);
+    }
 
-        try {
-            // Get all users from database
-            List<User> allUsers = userRepository.findAll();
-            log.info("Found {} users to send budget reports to", allUsers.size());
-
-            int successCount = 0;
-            int failureCount = 0;
-
-            // Send budget report to each user
-            for (User user : allUsers) {
-                try {
-                    log.info("Sending budget report to user: {} ({})", user.getName(), user.getEmail());
-                    reportingService.sendBudgetReportForUser(user);
-                    successCount++;
-                } catch (Exception e) {
-                    log.error("Failed to send budget report to user: {} ({})", user.getName(), user.getEmail(), e);
-                    failureCount++;
-                }
+    /**
+     * The current UTC month's run key once the cron has fired in it
+     */
+    private static Optional<String> dueMonth(String cron) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        YearMonth month = YearMonth.from(now);
+        ZonedDateTime firstFire = CronExpression.parse(cron)
+                .next(month.atDay(1).atStartOfDay(ZoneOffset.UTC).minusSeconds(1));
+        if (firstFire == null || firstFire.isAfter(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(month.toString());
+    }
+
+    private void sendPortfolioReports(String runKey) {
+        batchJobRunner.run(PORTFOLIO_JOB_NAME, runKey, new ReportJob() {
+            @Override
+            public boolean process(UserRepository.UserRef user) {
+                log.info("Sending portfolio report to user: {} ({})", user.getName(), user.getEmail());
+                reportingService.sendReportForUser(UserBatchService.toUser(user), secondaryEmailsOf(user));
+                return true;
+            }
+        });
+    }
+
+    private void sendBudgetReports(String runKey) {
+        batchJobRunner.run(BUDGET_JOB_NAME, runKey, new ReportJob() {
+            @Override
+            public boolean process(UserRepository.UserRef user) {
+                log.info("Sending budget report to user: {} ({})", user.getName(), user.getEmail());
+                reportingService.sendBudgetReportForUser(UserBatchService.toUser(user), secondaryEmailsOf(user));
+                return true;
             }
+        });
+    }
 
-            log.info("Scheduled budget report generation completed. Success: {}, Failed: {}", successCount, failureCount);
-        } catch (Exception e) {
-            log.error("Error during scheduled budget report generation", e);
+    /**
+     * Loads the recipients of each page of users in one query
+     */
+    private abstract class ReportJob implements BatchJobRunner.UserJob {
+
+        private Map<Long, List<String>> secondaryEmails = Map.of();
+
+        @Override
+        public void preparePage(List<UserRepository.UserRef> page) {
+            secondaryEmails = userRecipientService.getSecondaryEmails(
+                    page.stream().map(UserRepository.UserRef::getId).collect(Collectors.toList()));
+        }
+
+        List<String> secondaryEmailsOf(UserRepository.UserRef user) {
+            return secondaryEmails.getOrDefault(user.getId(), List.of());
         }
     }
 
 }
-
@@ -0,0 +1,159 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.SyncResponseDTO;
+import com.netly.app.model.SyncTombstone;
+import com.netly.app.model.User;
+import com.netly.app.repository.CustomAssetTypeRepository;
+import com.netly.app.repository.CustomLiabilityTypeRepository;
+import com.netly.app.repository.SyncTombstoneRepository;
+import com.netly.app.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for the client's local store. The cursor is {@code <dataVersion>.<epochMillis>}: an unchanged
+ * data version answers with no queries at all, otherwise rows (and tombstones) whose {@code sync_version} is
+ * above the cursor version are returned. The time part only decides whether tombstones may have been purged.
+ * <p>
+ * {@code sync_version} is stamped by a trigger from the user's data version, and the stamping transaction holds
+ * the users row lock until it commits, so a row committed after a cursor was issued is always stamped above it.
+ * The cursor is read before the entity tables, so a row may be returned twice; clients apply changes as
+ * idempotent upserts and deletes.
+ * Changes to a custom type are returned as the type only; assets keep the type display name they had when
+ * last written, so clients should resolve names through {@code assetTypes}/{@code liabilityTypes}.
+ */
+@Slf4j
+@Service
+public class SyncService {
+
+    private static final long ALL_VERSIONS = -1;
+
+    private final UserRepository userRepository;
+    private final AssetService assetService;
+    private final LiabilityService liabilityService;
+    private final BudgetService budgetService;
+    private final CustomAssetTypeRepository customAssetTypeRepository;
+    private final CustomLiabilityTypeRepository customLiabilityTypeRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final Duration tombstoneRetention;
+
+    public SyncService(UserRepository userRepository,
+                       AssetService assetService,
+                       LiabilityService liabilityService,
+                       BudgetService budgetService,
+                       CustomAssetTypeRepository customAssetTypeRepository,
+                       CustomLiabilityTypeRepository customLiabilityTypeRepository,
+                       SyncTombstoneRepository syncTombstoneRepository,
+                       @Value("${sync.tombstone.retention.days:30}") long tombstoneRetentionDays) {
+        this.userRepository = userRepository;
+        this.assetService = assetService;
+        this.liabilityService = liabilityService;
+        this.budgetService = budgetService;
+        this.customAssetTypeRepository = customAssetTypeRepository;
+        this.customLiabilityTypeRepository = customLiabilityTypeRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponseDTO getChanges(String since) {
+        User user = getCurrentUser();
+        long dataVersion = user.getDataVersion();
+        LocalDateTime now = LocalDateTime.now();
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        long sinceVersion = ALL_VERSIONS;
+        if (since != null && !since.isBlank()) {
+            Cursor cursor = Cursor.parse(since);
+            if (cursor.dataVersion == dataVersion) {
+                // Nothing committed since the last call; keep the old cursor time
+                response.setCursor(since);
+                return response;
+            }
+            // Tombstones older than the retention window are gone, so deletions could be missed
+            if (!cursor.time.isBefore(now.minus(tombstoneRetention))) {
+                sinceVersion = cursor.dataVersion;
+            }
+        }
+
+        response.setCursor(new Cursor(dataVersion, now).toString());
+        response.setFullResync(sinceVersion == ALL_VERSIONS);
+
+        response.setAssets(assetService.getAssetsChangedSince(user, sinceVersion));
+        response.setLiabilities(liabilityService.getLiabilitiesChangedSince(user, sinceVersion));
+        response.setBudgetItems(budgetService.getBudgetItemsChangedSince(user, sinceVersion));
+        response.setAssetTypes(customAssetTypeRepository.findByUserAndSyncVersionGreaterThan(user, sinceVersion).stream()
+                .map(CustomTypeCatalogService::toAssetTypeDTO)
+                .collect(Collectors.toList()));
+        response.setLiabilityTypes(customLiabilityTypeRepository.findByUserAndSyncVersionGreaterThan(user, sinceVersion).stream()
+                .map(CustomTypeCatalogService::toLiabilityTypeDTO)
+                .collect(Collectors.toList()));
+
+        if (sinceVersion != ALL_VERSIONS) {
+            SyncResponseDTO.Deleted deleted = response.getDeleted();
+            for (SyncTombstone tombstone : syncTombstoneRepository.findByUserIdAndSyncVersionGreaterThan(user.getId(), sinceVersion)) {
+                switch (tombstone.getEntityType()) {
+                    case ASSET -> deleted.getAssets().add(tombstone.getEntityId());
+                    case LIABILITY -> deleted.getLiabilities().add(tombstone.getEntityId());
+                    case BUDGET_ITEM -> deleted.getBudgetItems().add(tombstone.getEntityId());
+                    case CUSTOM_ASSET_TYPE -> deleted.getAssetTypes().add(tombstone.getEntityId());
+                    case CUSTOM_LIABILITY_TYPE -> deleted.getLiabilityTypes().add(tombstone.getEntityId());
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drop tombstones past the retention window; cursors older than that get a full resync
+     */
+    @Scheduled(cron = "0 30 3 * * *", zone = "UTC")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} sync tombstones", purged);
+    }
+
+    private static final class Cursor {
+
+        private final long dataVersion;
+        private final LocalDateTime time;
+
+        Cursor(long dataVersion, LocalDateTime time) {
+            this.dataVersion = dataVersion;
+            this.time = time;
+        }
+
+        static Cursor parse(String value) {
+            int dot = value.indexOf('.');
+            try {
+                long dataVersion = Long.parseLong(value.substring(0, dot));
+                long epochMillis = Long.parseLong(value.substring(dot + 1));
+                return new Cursor(dataVersion, LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid sync cursor: " + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return dataVersion + "." + time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
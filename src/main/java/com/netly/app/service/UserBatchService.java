@@ -0,0 +1,67 @@
+package com.netly.app.service;
+
+import com.netly.app.model.User;
+import com.netly.app.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Iterates all users for batch jobs in constant memory. Users are read in pages of lightweight projections
+ * using keyset pagination by id, so each page is an index range scan no matter how far the job has got,
+ * and a job can resume after the last id it checkpointed.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserBatchService {
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    @Value("${batch.users.page.size:500}")
+    private int pageSize;
+
+    /**
+     * Visit every user with an id greater than afterId, page by page. Returns the number of users visited.
+     */
+    public long forEachPage(long afterId, Consumer<List<UserRepository.UserRef>> pageHandler) {
+        long visited = 0;
+        long cursor = afterId;
+        while (true) {
+            List<UserRepository.UserRef> page = userRepository.findUserRefsAfter(cursor, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                return visited;
+            }
+
+            pageHandler.accept(page);
+            visited += page.size();
+            cursor = page.get(page.size() - 1).getId();
+
+            // Entities loaded while handling the page are not needed again
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.clear();
+            }
+            if (page.size() < pageSize) {
+                return visited;
+            }
+        }
+    }
+
+    /**
+     * Detached user carrying the projected fields, for services that take a User but only read these fields
+     */
+    public static User toUser(UserRepository.UserRef ref) {
+        User user = new User();
+        user.setId(ref.getId());
+        user.setName(ref.getName());
+        user.setEmail(ref.getEmail());
+        user.setDataVersion(ref.getDataVersion());
+        return user;
+    }
+}
@@ -0,0 +1,51 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netly.app.dto.UserEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Publishes user events to Redis so every instance can push them to its connected clients.
+ * Inside a transaction the event is sent after commit, so clients never refetch before the change is visible.
+ * Publishing is best effort: a Redis failure is logged and never fails the caller.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEventPublisher {
+
+    public static final String CHANNEL = "netly-user-events";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void publish(Long userId, String type, Map<String, Object> data) {
+        UserEvent event = new UserEvent(userId, type, data, System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(UserEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to publish {} event for user {}: {}", event.getType(), event.getUserId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netly.app.dto.UserEvent;
+import com.netly.app.model.User;
+import com.netly.app.repository.UserRepository;
+import com.netly.app.security.RateLimitExceededException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the open Server-Sent Event streams of this instance and forwards user events received over
+ * Redis pub/sub to them. Streams are async servlet responses, so an idle connection holds no request thread.
+ * Events are queued per stream and written by a separate sender pool, so the Redis listener threads and the
+ * heartbeat never block on a client socket; a stream whose client falls too far behind is closed, and the
+ * client reconnects and reloads.
+ */
+@Slf4j
+@Service
+public class UserEventStreamService implements MessageListener {
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final Map<Long, Set<EventStream>> streams = new ConcurrentHashMap<>();
+    private final long streamTimeoutMillis;
+    private final int maxStreamsPerUser;
+
+    @Value("${events.heartbeat.seconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${events.stream.queue.capacity:32}")
+    private int streamQueueCapacity;
+
+    @Value("${events.send.threads:8}")
+    private int sendThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private TaskExecutor sendExecutor;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    public UserEventStreamService(ObjectMapper objectMapper,
+                                  UserRepository userRepository,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  @Value("${events.stream.timeout.minutes:30}") long streamTimeoutMinutes,
+                                  @Value("${events.max.streams.per.user:5}") int maxStreamsPerUser) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.streamTimeoutMillis = Duration.ofMinutes(streamTimeoutMinutes).toMillis();
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        listenerContainer.addMessageListener(this, new ChannelTopic(UserEventPublisher.CHANNEL));
+    }
+
+    @PostConstruct
+    public void startExecutors() {
+        if (virtualThreadsEnabled) {
+            sendExecutor = new VirtualThreadTaskExecutor("event-stream-");
+        } else {
+            // A stream has at most one drain task queued, so the queue is bounded by the number of open streams
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(sendThreads);
+            executor.setMaxPoolSize(sendThreads);
+            executor.setThreadNamePrefix("event-stream-");
+            executor.initialize();
+            sendExecutor = executor;
+        }
+
+        // Own thread rather than the shared scheduler, which long batch jobs can hold for minutes
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stopExecutors() {
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        if (sendExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Open a stream for the current user. Clients reconnect when it times out.
+     *
+     * @throws RateLimitExceededException when the user already has the maximum number of open streams
+     */
+    public SseEmitter subscribe() {
+        Long userId = getCurrentUser().getId();
+        EventStream stream = new EventStream(userId, new SseEmitter(streamTimeoutMillis));
+        streams.compute(userId, (id, userStreams) -> {
+            Set<EventStream> current = userStreams != null ? userStreams : new CopyOnWriteArraySet<>();
+            if (current.size() >= maxStreamsPerUser) {
+                throw new RateLimitExceededException("Too many open event streams", heartbeatSeconds);
+            }
+            current.add(stream);
+            return current;
+        });
+        stream.emitter.onCompletion(() -> remove(stream));
+        stream.emitter.onTimeout(() -> remove(stream));
+        stream.emitter.onError(e -> remove(stream));
+
+        // Flushes the response headers so the client knows the stream is open
+        stream.offer(SseEmitter.event().comment("connected"));
+        return stream.emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        UserEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), UserEvent.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed user event: {}", e.getMessage());
+            return;
+        }
+
+        Set<EventStream> userStreams = streams.get(event.getUserId());
+        if (userStreams == null) {
+            return;
+        }
+        for (EventStream stream : userStreams) {
+            stream.offer(SseEmitter.event()
+                    .name(event.getType())
+                    .data(event.getData() != null ? event.getData() : Map.of()));
+        }
+    }
+
+    /**
+     * Keeps proxies from closing idle streams and detects clients that went away
+     */
+    void sendHeartbeats() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream ->
+                stream.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void remove(EventStream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    /**
+     * One open stream with its pending events. At most one sender drains a stream at a time, which keeps
+     * its events in order.
+     */
+    private final class EventStream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(streamQueueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private EventStream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                log.warn("Closing event stream of user {}: client is {} events behind", userId, streamQueueCapacity);
+                close(null);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    close(e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared still needs a sender
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(Exception error) {
+            remove(this);
+            pending.clear();
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
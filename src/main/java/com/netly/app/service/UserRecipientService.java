@@ -0,0 +1,86 @@
+package com.netly.app.service;
+
+import com.netly.app.model.User;
+import com.netly.app.model.UserRecipient;
+import com.netly.app.repository.UserRecipientRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Secondary email recipients of a user's reports, stored one row per address in user_recipients
+ */
+@Service
+@RequiredArgsConstructor
+public class UserRecipientService {
+
+    private final UserRecipientRepository userRecipientRepository;
+
+    @Transactional(readOnly = true)
+    public List<String> getSecondaryEmails(Long userId) {
+        return userRecipientRepository.findEmailsByUserId(userId);
+    }
+
+    /**
+     * Secondary emails for many users in one query, for report fan-out. Users without any are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getSecondaryEmails(Collection<Long> userIds) {
+        Map<Long, List<String>> emailsByUser = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return emailsByUser;
+        }
+        for (UserRecipientRepository.RecipientEmail row : userRecipientRepository.findEmailsByUserIds(userIds)) {
+            emailsByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row.getEmail());
+        }
+        return emailsByUser;
+    }
+
+    /**
+     * Primary email followed by the given secondary emails
+     */
+    public List<String> getReportRecipients(User user, List<String> secondaryEmails) {
+        List<String> recipients = new ArrayList<>(secondaryEmails.size() + 1);
+        recipients.add(user.getEmail());
+        recipients.addAll(secondaryEmails);
+        return recipients;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isSecondaryEmail(Long userId, String email) {
+        return userRecipientRepository.existsByUserIdAndEmail(userId, email.trim());
+    }
+
+    /**
+     * Replace a user's secondary emails. Blank entries are dropped, and addresses differing only in case are kept once.
+     */
+    @Transactional
+    public List<String> replaceSecondaryEmails(Long userId, List<String> emails) {
+        Map<String, String> uniqueEmails = new LinkedHashMap<>();
+        if (emails != null) {
+            for (String email : emails) {
+                if (email != null && !email.trim().isEmpty()) {
+                    uniqueEmails.putIfAbsent(email.trim().toLowerCase(Locale.ROOT), email.trim());
+                }
+            }
+        }
+
+        // The bulk delete runs immediately, so re-adding an address does not hit the unique index
+        userRecipientRepository.deleteByUserId(userId);
+        List<UserRecipient> recipients = new ArrayList<>(uniqueEmails.size());
+        int order = 0;
+        for (String email : uniqueEmails.values()) {
+            recipients.add(new UserRecipient(null, userId, email, order++, null));
+        }
+        userRecipientRepository.saveAll(recipients);
+        return new ArrayList<>(uniqueEmails.values());
+    }
+}
@@ -12,8 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +21,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final OtpService otpService;
+    private final UserRecipientService userRecipientService;
 
     @Transactional
     public void requestOtpForEmailChange(Long userId, RequestOtpForEmailChangeRequest request) {
@@ -77,17 +76,8 @@ public class UserService {
                 }
 
                 // Check if new email is part of user's own secondary emails
-                if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-                    List<String> secondaryEmails = Arrays.stream(user.getSecondaryEmails().split(","))
-                            .map(String::trim)
-                            .filter(email -> !email.isEmpty())
-                            .collect(Collectors.toList());
-
-                    for (String secondaryEmail : secondaryEmails) {
-                        if (secondaryEmail.equalsIgnoreCase(newEmail)) {
-                            throw new RuntimeException("Cannot use your secondary email as primary email");
-                        }
-                    }
+                if (userRecipientService.isSecondaryEmail(user.getId(), newEmail)) {
+                    throw new RuntimeException("Cannot use your secondary email as primary email");
                 }
 
                 user.setEmail(newEmail);
@@ -101,7 +91,7 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
+        return convertToDTO(savedUser, userRecipientService.getSecondaryEmails(savedUser.getId()));
     }
 
     @Transactional
@@ -121,15 +111,8 @@ public class UserService {
         String newEmail = newSecondaryEmails.get(0).trim();
 
         // Validate email is not already in secondary emails
-        if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-            List<String> currentSecondaryEmails = Arrays.stream(user.getSecondaryEmails().split(","))
-                    .map(String::trim)
-                    .filter(email -> !email.isEmpty())
-                    .collect(Collectors.toList());
-
-            if (currentSecondaryEmails.stream().anyMatch(e -> e.equalsIgnoreCase(newEmail))) {
-                throw new RuntimeException("This email is already added");
-            }
+        if (userRecipientService.isSecondaryEmail(user.getId(), newEmail)) {
+            throw new RuntimeException("This email is already added");
         }
 
         // Validate email is not the primary email
@@ -149,15 +132,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Get current secondary emails
-        final List<String> currentSecondaryEmails;
-        if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-            currentSecondaryEmails = Arrays.stream(user.getSecondaryEmails().split(","))
-                    .map(String::trim)
-                    .filter(email -> !email.isEmpty())
-                    .collect(Collectors.toList());
-        } else {
-            currentSecondaryEmails = new ArrayList<>();
-        }
+        final List<String> currentSecondaryEmails = userRecipientService.getSecondaryEmails(user.getId());
 
         // Find newly added emails
         List<String> newlyAddedEmails = request.getSecondaryEmails().stream()
@@ -196,32 +171,15 @@ public class UserService {
             }
         }
 
-        // Convert list to comma-separated string
-        String secondaryEmailsStr = null;
-        if (request.getSecondaryEmails() != null && !request.getSecondaryEmails().isEmpty()) {
-            // Filter out empty strings and trim
-            List<String> validEmails = request.getSecondaryEmails().stream()
-                    .filter(email -> email != null && !email.trim().isEmpty())
-                    .map(String::trim)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if (!validEmails.isEmpty()) {
-                secondaryEmailsStr = String.join(",", validEmails);
-            }
-        }
-
-        user.setSecondaryEmails(secondaryEmailsStr);
-        User savedUser = userRepository.save(user);
-
-        return convertToDTO(savedUser);
+        List<String> secondaryEmails = userRecipientService.replaceSecondaryEmails(user.getId(), request.getSecondaryEmails());
+        return convertToDTO(user, secondaryEmails);
     }
 
     public UserProfileDTO getUserProfile(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return convertToDTO(user);
+        return convertToDTO(user, userRecipientService.getSecondaryEmails(user.getId()));
     }
 
     @Transactional
@@ -243,25 +201,8 @@ public class UserService {
             }
         }
 
-        // Convert list to comma-separated string
-        String secondaryEmailsStr = null;
-        if (request.getSecondaryEmails() != null && !request.getSecondaryEmails().isEmpty()) {
-            // Filter out empty strings and trim
-            List<String> validEmails = request.getSecondaryEmails().stream()
-                    .filter(email -> email != null && !email.trim().isEmpty())
-                    .map(String::trim)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if (!validEmails.isEmpty()) {
-                secondaryEmailsStr = String.join(",", validEmails);
-            }
-        }
-
-        user.setSecondaryEmails(secondaryEmailsStr);
-        User savedUser = userRepository.save(user);
-
-        return convertToDTO(savedUser);
+        List<String> secondaryEmails = userRecipientService.replaceSecondaryEmails(user.getId(), request.getSecondaryEmails());
+        return convertToDTO(user, secondaryEmails);
     }
 
     @Transactional
@@ -280,17 +221,8 @@ public class UserService {
                 }
 
                 // Check if new email is part of user's own secondary emails
-                if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-                    List<String> secondaryEmails = Arrays.stream(user.getSecondaryEmails().split(","))
-                            .map(String::trim)
-                            .filter(email -> !email.isEmpty())
-                            .collect(Collectors.toList());
-
-                    for (String secondaryEmail : secondaryEmails) {
-                        if (secondaryEmail.equalsIgnoreCase(newEmail)) {
-                            throw new RuntimeException("Cannot use your secondary email as primary email");
-                        }
-                    }
+                if (userRecipientService.isSecondaryEmail(user.getId(), newEmail)) {
+                    throw new RuntimeException("Cannot use your secondary email as primary email");
                 }
 
                 user.setEmail(newEmail);
@@ -303,23 +235,14 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
+        return convertToDTO(savedUser, userRecipientService.getSecondaryEmails(savedUser.getId()));
     }
 
-    private UserProfileDTO convertToDTO(User user) {
+    private UserProfileDTO convertToDTO(User user, List<String> secondaryEmails) {
         UserProfileDTO dto = new UserProfileDTO();
         dto.setId(user.getId());
         dto.setName(user.getName());
         dto.setEmail(user.getEmail());
-
-        // Convert comma-separated string to list
-        List<String> secondaryEmails = new ArrayList<>();
-        if (user.getSecondaryEmails() != null && !user.getSecondaryEmails().trim().isEmpty()) {
-            secondaryEmails = Arrays.stream(user.getSecondaryEmails().split(","))
-                    .map(String::trim)
-                    .filter(email -> !email.isEmpty())
-                    .collect(Collectors.toList());
-        }
         dto.setSecondaryEmails(secondaryEmails);
 
         return dto;
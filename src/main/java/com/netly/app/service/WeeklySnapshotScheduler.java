@@ -1,51 +1,77 @@
 package com.netly.app.service;
 
-import com.netly.app.model.User;
 import com.netly.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WeeklySnapshotScheduler {
 
+    private static final String JOB_NAME = "weekly-snapshots";
+    private static final String SNAPSHOT_CRON = "0 0 12 ? * MON";
+
     private final PortfolioSnapshotService portfolioSnapshotService;
-    private final UserRepository userRepository;
+    private final BatchJobRunner batchJobRunner;
 
     /**
      * Run every Monday at 12:00 PM UTC
      * Cron format: second, minute, hour, day of month, month, day of week
      * "0 0 12 ? * MON" means: at 12:00:00 on Monday
      */
-    @Scheduled(cron = "0 0 12 ? * MON", zone = "UTC")
+    @Scheduled(cron = SNAPSHOT_CRON, zone = "UTC")
     public void createWeeklySnapshots() {
         log.info("Starting weekly portfolio snapshot creation...");
-        LocalDate snapshotDate = LocalDate.now();
+        createSnapshots(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Continue snapshot runs interrupted by a restart or failure, and start the latest Monday's run if
+     * its cron fired while no node was up
+     */
+    @Scheduled(fixedDelayString = "${batch.jobs.resume.check.minutes:5}",
+            initialDelayString = "${batch.jobs.resume.check.minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public void resumeInterruptedRuns() {
+        for (String runKey : batchJobRunner.findResumableRunKeys(JOB_NAME)) {
+            createSnapshots(LocalDate.parse(runKey));
+        }
 
-        List<User> allUsers = userRepository.findAll();
-        int successCount = 0;
-        int errorCount = 0;
+        LocalDate latestSnapshotDate = latestFireDate();
+        if (batchJobRunner.isMissed(JOB_NAME, latestSnapshotDate.toString())) {
+            createSnapshots(latestSnapshotDate);
+        }
+    }
 
-        for (User user : allUsers) {
-            try {
+    /**
+     * UTC date of the most recent time the snapshot cron fired
+     */
+    private static LocalDate latestFireDate() {
+        // The cron fires once a week, so its first time within the past week is the latest one
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return CronExpression.parse(SNAPSHOT_CRON).next(now.minusWeeks(1)).toLocalDate();
+    }
+
+    private void createSnapshots(LocalDate snapshotDate) {
+        batchJobRunner.run(JOB_NAME, snapshotDate.toString(), new BatchJobRunner.UserJob() {
+            @Override
+            public boolean process(UserRepository.UserRef user) {
+                // Users snapshotted before an interruption are skipped instead of failing
+                if (portfolioSnapshotService.hasSnapshot(user.getId(), snapshotDate)) {
+                    return false;
+                }
                 portfolioSnapshotService.createSnapshotForUser(user.getId(), snapshotDate);
-                successCount++;
                 log.info("Created snapshot for user: {} ({})", user.getName(), user.getEmail());
-            } catch (Exception e) {
-                errorCount++;
-                log.error("Failed to create snapshot for user: {} ({}). Error: {}",
-                        user.getName(), user.getEmail(), e.getMessage());
+                return true;
             }
-        }
-
-        log.info("Weekly snapshot creation completed. Success: {}, Errors: {}, Total: {}",
-                successCount, errorCount, allUsers.size());
+        });
     }
 }
-
@@ -0,0 +1,109 @@
+package com.netly.app.util;
+
+import com.netly.app.dto.CompactPortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistorySeriesDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompactSeriesEncoder {
+
+    public static CompactPortfolioHistoryDTO encode(PortfolioHistoryDTO history) {
+        CompactPortfolioHistoryDTO compact = encodeDates(history.getDates());
+        compact.setTotalAssets(encodeValues(history.getTotalAssets()));
+        compact.setTotalLiabilities(encodeValues(history.getTotalLiabilities()));
+        compact.setNetWorth(encodeValues(history.getNetWorth()));
+        compact.setTotalGains(encodeValues(history.getTotalGains()));
+        return compact;
+    }
+
+    public static CompactPortfolioHistoryDTO encode(PortfolioHistorySeriesDTO history) {
+        CompactPortfolioHistoryDTO compact = encodeDates(history.getDates());
+        compact.setTotalAssets(encodeValues(history.getTotalAssets()));
+        compact.setTotalLiabilities(encodeValues(history.getTotalLiabilities()));
+        compact.setNetWorth(encodeValues(history.getNetWorth()));
+        compact.setTotalGains(encodeValues(history.getTotalGains()));
+        compact.setAssetTypes(encodeTypeSeries(history.getAssetTypes()));
+        compact.setLiabilityTypes(encodeTypeSeries(history.getLiabilityTypes()));
+        return compact;
+    }
+
+    /**
+     * Dates become an epoch-day start plus a stride when evenly spaced (weekly snapshots),
+     * otherwise a delta per point with the first delta being 0.
+     */
+    private static CompactPortfolioHistoryDTO encodeDates(List<String> dates) {
+        CompactPortfolioHistoryDTO compact = new CompactPortfolioHistoryDTO();
+        int count = dates != null ? dates.size() : 0;
+        compact.setCount(count);
+        if (count == 0) {
+            return compact;
+        }
+
+        long[] epochDays = new long[count];
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = LocalDate.parse(dates.get(i)).toEpochDay();
+        }
+        compact.setStartEpochDay(epochDays[0]);
+
+        long stride = count > 1 ? epochDays[1] - epochDays[0] : 0;
+        boolean uniform = true;
+        for (int i = 2; i < count && uniform; i++) {
+            uniform = epochDays[i] - epochDays[i - 1] == stride;
+        }
+
+        if (uniform) {
+            compact.setStrideDays((int) stride);
+        } else {
+            compact.setDayDeltas(deltaEncode(epochDays, epochDays[0]));
+        }
+        return compact;
+    }
+
+    /**
+     * Converts rupee amounts to paise and delta-encodes them. Empty series are dropped (null).
+     */
+    private static long[] encodeValues(List<BigDecimal> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        long[] paise = new long[values.size()];
+        for (int i = 0; i < paise.length; i++) {
+            BigDecimal value = values.get(i) != null ? values.get(i) : BigDecimal.ZERO;
+            paise[i] = value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return deltaEncode(paise, 0);
+    }
+
+    private static Map<String, CompactPortfolioHistoryDTO.CompactTypeSeries> encodeTypeSeries(
+            Map<String, PortfolioHistorySeriesDTO.TypeSeries> typeSeries) {
+        if (typeSeries == null) {
+            return null;
+        }
+        Map<String, CompactPortfolioHistoryDTO.CompactTypeSeries> encoded = new LinkedHashMap<>();
+        for (Map.Entry<String, PortfolioHistorySeriesDTO.TypeSeries> entry : typeSeries.entrySet()) {
+            encoded.put(entry.getKey(), new CompactPortfolioHistoryDTO.CompactTypeSeries(
+                    encodeValues(entry.getValue().getValues()),
+                    encodeValues(entry.getValue().getGains())));
+        }
+        return encoded;
+    }
+
+    /**
+     * Each element becomes its difference from the previous one; the first is relative to {@code base}.
+     */
+    private static long[] deltaEncode(long[] values, long base) {
+        long[] deltas = new long[values.length];
+        long previous = base;
+        for (int i = 0; i < values.length; i++) {
+            deltas[i] = values[i] - previous;
+            previous = values[i];
+        }
+        return deltas;
+    }
+}
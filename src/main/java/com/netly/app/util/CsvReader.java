@@ -0,0 +1,115 @@
+package com.netly.app.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record is parsed at a time, so memory use does not grow with the file.
+ * Supports quoted fields with embedded commas, quotes ("") and line breaks. A leading UTF-8 byte order
+ * mark is skipped. Fields are capped at {@code maxFieldLength} characters so a stray quote cannot turn
+ * the rest of the input into one buffered field.
+ */
+public class CsvReader implements Closeable {
+
+    public static final int DEFAULT_MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final int maxFieldLength;
+    private final StringBuilder field = new StringBuilder();
+    private long recordNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_MAX_FIELD_LENGTH);
+    }
+
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Next record, or null at end of input. Blank lines are skipped.
+     *
+     * @throws IOException on read failure, a field over the length cap or a quoted field left open at end of input
+     */
+    public List<String> readRecord() throws IOException {
+        if (recordNumber == 0) {
+            skipByteOrderMark();
+        }
+        recordNumber++;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean sawAnything = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAnything = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append('"');
+                    } else {
+                        reader.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (record.isEmpty() && field.length() == 0) {
+                    sawAnything = false;
+                    continue;
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                append((char) c);
+            }
+        }
+
+        if (!sawAnything) {
+            return null;
+        }
+        if (inQuotes) {
+            throw new IOException("Unterminated quoted field in record " + recordNumber);
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() >= maxFieldLength) {
+            throw new IOException("Field longer than " + maxFieldLength + " characters in record " + recordNumber);
+        }
+        field.append(c);
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.netly.app.util;
+
+import java.util.Locale;
+
+/**
+ * One spelling of an email address for Redis keys (rate limits, OTP codes and cooldowns), so changing its
+ * case or padding it with spaces neither skips a limit nor splits state across keys
+ */
+public class EmailNormalizer {
+
+    public static String normalize(String email) {
+        if (email == null || email.isBlank()) {
+            throw new RuntimeException("Email is required");
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -191,6 +191,211 @@ CREATE INDEX IF NOT EXISTS idx_budget_items_user_id ON netly_schema.budget_items
 CREATE INDEX IF NOT EXISTS idx_budget_items_item_type ON netly_schema.budget_items(item_type);
 CREATE INDEX IF NOT EXISTS idx_budget_items_user_type ON netly_schema.budget_items(user_id, item_type);
 
+-- Create per-type snapshot aggregates used by the asset/liability type history charts
+CREATE TABLE IF NOT EXISTS netly_schema.type_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    portfolio_snapshot_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    category VARCHAR(20) NOT NULL, -- ASSET or LIABILITY
+    type_name VARCHAR(100) NOT NULL,
+    total_value NUMERIC(15,2) NOT NULL,
+    total_gain NUMERIC(15,2) NOT NULL DEFAULT 0,
+    item_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (portfolio_snapshot_id) REFERENCES netly_schema.portfolio_snapshots(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES netly_schema.users(id) ON DELETE CASCADE,
+    UNIQUE (portfolio_snapshot_id, category, type_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_type_snapshots_portfolio_snapshot_id ON netly_schema.type_snapshots(portfolio_snapshot_id);
+CREATE INDEX IF NOT EXISTS idx_type_snapshots_user_category_type_date ON netly_schema.type_snapshots(user_id, category, type_name, snapshot_date);
+
+-- Backfill type snapshots for existing history (safe to re-run)
+INSERT INTO netly_schema.type_snapshots
+    (portfolio_snapshot_id, user_id, snapshot_date, category, type_name, total_value, total_gain, item_count)
+SELECT ps.id, ps.user_id, ps.snapshot_date, 'ASSET', a.asset_type_name,
+       SUM(a.value_in_inr), SUM(COALESCE(a.gain_loss, 0)), COUNT(*)
+FROM netly_schema.asset_snapshots a
+JOIN netly_schema.portfolio_snapshots ps ON ps.id = a.portfolio_snapshot_id
+GROUP BY ps.id, ps.user_id, ps.snapshot_date, a.asset_type_name
+ON CONFLICT (portfolio_snapshot_id, category, type_name) DO NOTHING;
+
+INSERT INTO netly_schema.type_snapshots
+    (portfolio_snapshot_id, user_id, snapshot_date, category, type_name, total_value, total_gain, item_count)
+SELECT ps.id, ps.user_id, ps.snapshot_date, 'LIABILITY', l.liability_type_name,
+       SUM(l.balance_in_inr), 0, COUNT(*)
+FROM netly_schema.liability_snapshots l
+JOIN netly_schema.portfolio_snapshots ps ON ps.id = l.portfolio_snapshot_id
+GROUP BY ps.id, ps.user_id, ps.snapshot_date, l.liability_type_name
+ON CONFLICT (portfolio_snapshot_id, category, type_name) DO NOTHING;
+
+-- Per-user data version, bumped on every data change; drives ETags and cache invalidation
+ALTER TABLE netly_schema.users ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;
+
+-- Market symbol for price-driven revaluation of marketable holdings
+ALTER TABLE netly_schema.assets ADD COLUMN IF NOT EXISTS symbol VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_assets_symbol ON netly_schema.assets(symbol) WHERE symbol IS NOT NULL;
+
+-- Delta sync: rows are stamped with a sync_version and deleted rows leave tombstones, both written by triggers
+-- so every write and delete path is covered
+ALTER TABLE netly_schema.assets ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE netly_schema.liabilities ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE netly_schema.budget_items ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE netly_schema.custom_asset_types ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE netly_schema.custom_liability_types ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_assets_user_sync_version ON netly_schema.assets(user_id, sync_version);
+CREATE INDEX IF NOT EXISTS idx_liabilities_user_sync_version ON netly_schema.liabilities(user_id, sync_version);
+CREATE INDEX IF NOT EXISTS idx_budget_items_user_sync_version ON netly_schema.budget_items(user_id, sync_version);
+CREATE INDEX IF NOT EXISTS idx_custom_asset_types_user_sync_version ON netly_schema.custom_asset_types(user_id, sync_version);
+CREATE INDEX IF NOT EXISTS idx_custom_liability_types_user_sync_version ON netly_schema.custom_liability_types(user_id, sync_version);
+
+-- No foreign key: rows removed by a user delete cascade are recorded too and expire with the retention window
+CREATE TABLE IF NOT EXISTS netly_schema.sync_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE netly_schema.sync_tombstones ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_user_sync_version ON netly_schema.sync_tombstones(user_id, sync_version);
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_deleted_at ON netly_schema.sync_tombstones(deleted_at);
+
+CREATE OR REPLACE FUNCTION netly_schema.record_sync_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO netly_schema.sync_tombstones (user_id, entity_type, entity_id)
+    VALUES (OLD.user_id, TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Stamps a row with the user's data version. The first stamped write in a transaction bumps users.data_version,
+-- which keeps the users row locked until commit, so anything committed after a client read data_version v is
+-- stamped above v. Later writes in the same transaction reuse the stamp from a transaction-local setting.
+CREATE OR REPLACE FUNCTION netly_schema.stamp_sync_version() RETURNS trigger AS $$
+DECLARE
+    setting_name TEXT := 'netly.sync_version_' || NEW.user_id;
+    stamp TEXT := current_setting(setting_name, true);
+BEGIN
+    IF stamp IS NULL OR stamp = '' THEN
+        UPDATE netly_schema.users SET data_version = data_version + 1 WHERE id = NEW.user_id
+        RETURNING data_version::TEXT INTO stamp;
+        -- No users row when a user delete cascades; those tombstones are never read
+        IF stamp IS NULL THEN
+            RETURN NEW;
+        END IF;
+        PERFORM set_config(setting_name, stamp, true);
+    END IF;
+    NEW.sync_version := stamp::BIGINT;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_assets_sync_version ON netly_schema.assets;
+CREATE TRIGGER trg_assets_sync_version BEFORE INSERT OR UPDATE ON netly_schema.assets
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_liabilities_sync_version ON netly_schema.liabilities;
+CREATE TRIGGER trg_liabilities_sync_version BEFORE INSERT OR UPDATE ON netly_schema.liabilities
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_budget_items_sync_version ON netly_schema.budget_items;
+CREATE TRIGGER trg_budget_items_sync_version BEFORE INSERT OR UPDATE ON netly_schema.budget_items
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_custom_asset_types_sync_version ON netly_schema.custom_asset_types;
+CREATE TRIGGER trg_custom_asset_types_sync_version BEFORE INSERT OR UPDATE ON netly_schema.custom_asset_types
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_custom_liability_types_sync_version ON netly_schema.custom_liability_types;
+CREATE TRIGGER trg_custom_liability_types_sync_version BEFORE INSERT OR UPDATE ON netly_schema.custom_liability_types
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_sync_tombstones_sync_version ON netly_schema.sync_tombstones;
+CREATE TRIGGER trg_sync_tombstones_sync_version BEFORE INSERT ON netly_schema.sync_tombstones
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.stamp_sync_version();
+
+DROP TRIGGER IF EXISTS trg_assets_sync_tombstone ON netly_schema.assets;
+CREATE TRIGGER trg_assets_sync_tombstone AFTER DELETE ON netly_schema.assets
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.record_sync_tombstone('ASSET');
+
+DROP TRIGGER IF EXISTS trg_liabilities_sync_tombstone ON netly_schema.liabilities;
+CREATE TRIGGER trg_liabilities_sync_tombstone AFTER DELETE ON netly_schema.liabilities
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.record_sync_tombstone('LIABILITY');
+
+DROP TRIGGER IF EXISTS trg_budget_items_sync_tombstone ON netly_schema.budget_items;
+CREATE TRIGGER trg_budget_items_sync_tombstone AFTER DELETE ON netly_schema.budget_items
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.record_sync_tombstone('BUDGET_ITEM');
+
+DROP TRIGGER IF EXISTS trg_custom_asset_types_sync_tombstone ON netly_schema.custom_asset_types;
+CREATE TRIGGER trg_custom_asset_types_sync_tombstone AFTER DELETE ON netly_schema.custom_asset_types
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.record_sync_tombstone('CUSTOM_ASSET_TYPE');
+
+DROP TRIGGER IF EXISTS trg_custom_liability_types_sync_tombstone ON netly_schema.custom_liability_types;
+CREATE TRIGGER trg_custom_liability_types_sync_tombstone AFTER DELETE ON netly_schema.custom_liability_types
+    FOR EACH ROW EXECUTE FUNCTION netly_schema.record_sync_tombstone('CUSTOM_LIABILITY_TYPE');
+
+-- Secondary email recipients, one row per address; replaces the comma-joined users.secondary_emails column
+CREATE TABLE IF NOT EXISTS netly_schema.user_recipients (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    display_order INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES netly_schema.users(id) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_recipients_user_email ON netly_schema.user_recipients(user_id, LOWER(email));
+CREATE INDEX IF NOT EXISTS idx_user_recipients_email ON netly_schema.user_recipients(LOWER(email));
+
+-- Migrate existing addresses in their original order; addresses differing only in case are kept once
+INSERT INTO netly_schema.user_recipients (user_id, email, display_order)
+SELECT u.id, TRIM(e.email), e.position - 1
+FROM netly_schema.users u
+CROSS JOIN LATERAL unnest(string_to_array(u.secondary_emails, ',')) WITH ORDINALITY AS e(email, position)
+WHERE u.secondary_emails IS NOT NULL AND TRIM(e.email) <> ''
+ORDER BY u.id, e.position
+ON CONFLICT (user_id, LOWER(email)) DO NOTHING;
+
+-- The column is no longer read; clearing it keeps a re-run of this script from restoring removed addresses
+UPDATE netly_schema.users SET secondary_emails = NULL WHERE secondary_emails IS NOT NULL;
+
+-- Scheduled batch job runs with the checkpoint an interrupted run resumes from
+CREATE TABLE IF NOT EXISTS netly_schema.job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(64) NOT NULL,
+    run_key VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    processed_count INTEGER NOT NULL DEFAULT 0,
+    success_count INTEGER NOT NULL DEFAULT 0,
+    skipped_count INTEGER NOT NULL DEFAULT 0,
+    failure_count INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 1,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP,
+    error_message TEXT,
+    CONSTRAINT uk_job_runs_job_run_key UNIQUE (job_name, run_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_runs_job_started_at ON netly_schema.job_runs(job_name, started_at DESC);
+CREATE INDEX IF NOT EXISTS idx_job_runs_started_at ON netly_schema.job_runs(started_at DESC);
+
+-- Users a job run failed for; retried first when the run is resumed and removed once they succeed
+CREATE TABLE IF NOT EXISTS netly_schema.job_run_failures (
+    id BIGSERIAL PRIMARY KEY,
+    job_run_id BIGINT NOT NULL REFERENCES netly_schema.job_runs(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    error_message TEXT,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_job_run_failures_run_user UNIQUE (job_run_id, user_id)
+);
+
 GRANT SELECT, INSERT, UPDATE, DELETE ON ALL TABLES IN SCHEMA netly_schema TO netly_app_user;
 
 GRANT USAGE, SELECT, UPDATE ON ALL SEQUENCES IN SCHEMA netly_schema TO netly_app_user;
@@ -0,0 +1,160 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link OutboundHttpClient} against a local mock server.
+ */
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundHttpClient client;
+    private final CountDownLatch releaseSlowResponses = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        client = new OutboundHttpClient(httpClient, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(client, "readTimeoutMillis", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowResponses.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void postsJsonWithBearerToken() throws Exception {
+        AtomicReference<String> contentType = new AtomicReference<>();
+        AtomicReference<String> authorization = new AtomicReference<>();
+        AtomicReference<String> body = new AtomicReference<>();
+        server.createContext("/emails", exchange -> {
+            contentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 200, "{\"id\":\"1\"}");
+        });
+
+        HttpResponse<String> response = client.postJsonAsync("resend.emails", url("/emails"),
+                Map.of("subject", "Hello"), "secret").get(5, TimeUnit.SECONDS);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("{\"id\":\"1\"}");
+        assertThat(contentType.get()).isEqualTo("application/json");
+        assertThat(authorization.get()).isEqualTo("Bearer secret");
+        assertThat(body.get()).isEqualTo("{\"subject\":\"Hello\"}");
+        assertThat(timer("200").count()).isEqualTo(1);
+    }
+
+    @Test
+    void errorStatusCompletesNormally() throws Exception {
+        server.createContext("/emails", exchange -> respond(exchange, 422, "{\"message\":\"invalid\"}"));
+
+        HttpResponse<String> response = client.postJsonAsync("resend.emails", url("/emails"),
+                Map.of(), null).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.statusCode()).isEqualTo(422);
+        assertThat(timer("422").count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowResponseTimesOut() {
+        server.createContext("/emails", exchange -> {
+            try {
+                releaseSlowResponses.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> future = client.postJsonAsync("resend.emails", url("/emails"),
+                Map.of(), null);
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        assertThat(timer("TIMEOUT").count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionFailureCompletesExceptionally() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        String unreachable = "http://localhost:" + closedPort + "/emails";
+
+        CompletableFuture<HttpResponse<String>> future = client.postJsonAsync("resend.emails", unreachable,
+                Map.of(), null);
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(timer("IO_ERROR").count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidUrlFailsWithoutSending() {
+        CompletableFuture<HttpResponse<String>> future = client.postJsonAsync("resend.emails", "not a url",
+                Map.of(), null);
+
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    private Timer timer(String status) {
+        return meterRegistry.get("netly.http.client.requests")
+                .tag("endpoint", "resend.emails")
+                .tag("status", status)
+                .timer();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,126 @@
+package com.netly.app.service;
+
+import com.netly.app.dto.CustomAssetTypeDTO;
+import com.netly.app.dto.ImportResultDTO;
+import com.netly.app.model.User;
+import com.netly.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parsing, row validation and batching of the CSV import with the JDBC writes mocked out.
+ */
+class PortfolioImportServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CustomTypeCatalogService typeCatalogService = mock(CustomTypeCatalogService.class);
+    private final DataVersionService dataVersionService = mock(DataVersionService.class);
+    private PortfolioImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@netly.test");
+        when(userRepository.findByEmail("user@netly.test")).thenReturn(Optional.of(user));
+        when(typeCatalogService.getAssetTypes(any())).thenReturn(new CustomTypeCatalogService.TypeCatalog<>(
+                List.of(new CustomAssetTypeDTO(1L, "STOCK", "Stocks", null, true),
+                        new CustomAssetTypeDTO(2L, "GOLD", "Gold", null, true)),
+                CustomAssetTypeDTO::getId, CustomAssetTypeDTO::getTypeName, CustomAssetTypeDTO::getDisplayName));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user@netly.test", null));
+
+        importService = new PortfolioImportService(jdbcTemplate, userRepository, typeCatalogService, dataVersionService);
+        ReflectionTestUtils.setField(importService, "batchSize", 1000);
+        ReflectionTestUtils.setField(importService, "maxRows", 200_000L);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+        ReflectionTestUtils.setField(importService, "maxFieldLength", 65536);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void invalidRowsAreReportedAndSkipped() {
+        String csv = "\uFEFFName,Type,Current Value,Purchase_Date,Illiquid\r\n"
+                + "\"Infosys, NSE\",STOCK,\"1,50,000.25\",2024-01-15,no\r\n"
+                + "Coins,gold,5000,,\r\n"
+                + "Bond,BOND,100,,\r\n"
+                + "Flat,STOCK,abc,,\r\n"
+                + "Car,STOCK,100,15/01/2024,\r\n";
+
+        ImportResultDTO result = importService.importAssets(input(csv));
+
+        assertThat(result.getRowsRead()).isEqualTo(5);
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getRowsFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportResultDTO.RowError::getRow).containsExactly(3L, 4L, 5L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Unknown asset type: BOND");
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), any(int[].class));
+        verify(dataVersionService).bump(7L);
+    }
+
+    @Test
+    void missingRequiredColumnFails() {
+        assertThatThrownBy(() -> importService.importAssets(input("name,type\nGold,GOLD\n")))
+                .hasMessage("Missing required column: currentvalue");
+        verify(dataVersionService, never()).bump(any());
+    }
+
+    @Test
+    void unterminatedQuoteFailsTheImport() {
+        ReflectionTestUtils.setField(importService, "maxFieldLength", 1024);
+        StringBuilder csv = new StringBuilder("name,type,currentValue,description\nGold,GOLD,100,\"oops\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("Asset ").append(i).append(",STOCK,100,\n");
+        }
+
+        assertThatThrownBy(() -> importService.importAssets(input(csv.toString())))
+                .hasMessageStartingWith("Failed to read import file: Field longer than 1024 characters");
+    }
+
+    @Test
+    void importsHundredThousandRowsInBatches() {
+        StringBuilder csv = new StringBuilder("name,type,currentValue,purchasePrice,purchaseDate,quantity,description\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append("Asset ").append(i).append(i % 2 == 0 ? ",STOCK," : ",Gold,")
+                    .append(1000 + i).append(".50,900.25,2023-04-0").append(1 + i % 9)
+                    .append(",10,\"Lot ").append(i).append(", broker account\"\n");
+        }
+
+        ImportResultDTO result = importService.importAssets(input(csv.toString()));
+
+        assertThat(result.getRowsRead()).isEqualTo(100_000);
+        assertThat(result.getRowsImported()).isEqualTo(100_000);
+        assertThat(result.getRowsFailed()).isZero();
+        // 100 batches of 1000 rows
+        verify(jdbcTemplate, times(100)).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
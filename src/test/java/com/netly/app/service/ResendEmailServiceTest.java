@@ -0,0 +1,160 @@
+package com.netly.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netly.app.dto.ResendEmailPayload;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drains a mocked Redis queue into a local mock of the Resend API and checks that sends are pipelined
+ * up to {@code resend.api.max.in-flight} while the API is slow.
+ */
+class ResendEmailServiceTest {
+
+    private static final int MAX_IN_FLIGHT = 3;
+
+    private HttpServer server;
+    private ResendEmailService emailService;
+    private final Queue<ResendEmailPayload> redisQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<String> receivedBodies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+    private final CountDownLatch releaseResponses = new CountDownLatch(1);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/emails", exchange -> {
+            receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // Simulates a slow upstream: nothing is answered until the test says so
+                releaseResponses.await(20, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] response = "{\"id\":\"email\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        RedisTemplate<String, ResendEmailPayload> redisTemplate = mock(RedisTemplate.class);
+        ListOperations<String, ResendEmailPayload> listOperations = mock(ListOperations.class);
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.leftPush(anyString(), any())).thenAnswer(invocation -> {
+            redisQueue.add(invocation.getArgument(1));
+            return (long) redisQueue.size();
+        });
+        when(listOperations.rightPop(anyString())).thenAnswer(invocation -> redisQueue.poll());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        OutboundHttpClient outboundHttpClient = new OutboundHttpClient(httpClient, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(outboundHttpClient, "readTimeoutMillis", 30_000L);
+
+        emailService = new ResendEmailService(outboundHttpClient, redisTemplate);
+        ReflectionTestUtils.setField(emailService, "apiUrl",
+                "http://localhost:" + server.getAddress().getPort() + "/emails");
+        ReflectionTestUtils.setField(emailService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(emailService, "senderEmail", "reports@netly.test");
+        ReflectionTestUtils.setField(emailService, "emailSendIntervalSeconds", 1);
+        ReflectionTestUtils.setField(emailService, "maxInFlightSends", MAX_IN_FLIGHT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseResponses.countDown();
+        emailService.stopEmailSender();
+        server.stop(0);
+    }
+
+    @Test
+    void pipelinesSendsUpToTheInFlightLimit() throws Exception {
+        for (int i = 0; i < MAX_IN_FLIGHT + 2; i++) {
+            emailService.sendEmail(payload("Report " + i));
+        }
+
+        emailService.startEmailSender();
+
+        // One dequeue per interval keeps going while earlier sends are still waiting on the API
+        awaitCondition(() -> inFlight.get() == MAX_IN_FLIGHT, Duration.ofSeconds(10));
+
+        // With every slot taken the sender stops dequeuing, leaving the rest in Redis
+        Thread.sleep(2_500);
+        assertThat(maxObservedInFlight.get()).isEqualTo(MAX_IN_FLIGHT);
+        assertThat(redisQueue).hasSize(2);
+
+        releaseResponses.countDown();
+        awaitCondition(() -> receivedBodies.size() == MAX_IN_FLIGHT + 2, Duration.ofSeconds(10));
+        assertThat(redisQueue).isEmpty();
+        assertThat(receivedBodies).allMatch(body -> body.contains("\"from\":\"reports@netly.test\""));
+    }
+
+    @Test
+    void failedSendReleasesItsSlot() throws Exception {
+        server.removeContext("/emails");
+        server.createContext("/emails", exchange -> {
+            receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        for (int i = 0; i < MAX_IN_FLIGHT + 1; i++) {
+            emailService.sendEmail(payload("Report " + i));
+        }
+
+        emailService.startEmailSender();
+
+        awaitCondition(() -> receivedBodies.size() == MAX_IN_FLIGHT + 1, Duration.ofSeconds(10));
+        assertThat(redisQueue).isEmpty();
+    }
+
+    private static ResendEmailPayload payload(String subject) {
+        ResendEmailPayload payload = new ResendEmailPayload();
+        payload.setTo(new String[]{"user@netly.test"});
+        payload.setSubject(subject);
+        payload.setHtml("<p>" + subject + "</p>");
+        return payload;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within %s", timeout).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
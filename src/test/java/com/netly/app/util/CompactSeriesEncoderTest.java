@@ -0,0 +1,185 @@
+package com.netly.app.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.netly.app.dto.CompactPortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistoryDTO;
+import com.netly.app.dto.PortfolioHistorySeriesDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactSeriesEncoderTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    @Test
+    void weeklyHistoryRoundTrips() {
+        PortfolioHistoryDTO history = history(weeklyDates(LocalDate.of(2024, 1, 1), 12), new Random(1));
+
+        CompactPortfolioHistoryDTO compact = CompactSeriesEncoder.encode(history);
+
+        assertThat(compact.getCount()).isEqualTo(12);
+        assertThat(compact.getStrideDays()).isEqualTo(7);
+        assertThat(compact.getDayDeltas()).isNull();
+        assertThat(decodeDates(compact)).isEqualTo(history.getDates());
+        assertValuesEqual(decodeValues(compact.getTotalAssets()), history.getTotalAssets());
+        assertValuesEqual(decodeValues(compact.getTotalLiabilities()), history.getTotalLiabilities());
+        assertValuesEqual(decodeValues(compact.getNetWorth()), history.getNetWorth());
+        assertValuesEqual(decodeValues(compact.getTotalGains()), history.getTotalGains());
+    }
+
+    @Test
+    void irregularDatesUseDayDeltas() {
+        List<String> dates = List.of("2024-01-01", "2024-01-08", "2024-01-20", "2024-02-03");
+        PortfolioHistoryDTO history = history(dates, new Random(2));
+
+        CompactPortfolioHistoryDTO compact = CompactSeriesEncoder.encode(history);
+
+        assertThat(compact.getStrideDays()).isNull();
+        assertThat(compact.getDayDeltas()).containsExactly(0, 7, 12, 14);
+        assertThat(decodeDates(compact)).isEqualTo(dates);
+    }
+
+    @Test
+    void negativeAndNullValuesRoundTrip() {
+        PortfolioHistoryDTO history = new PortfolioHistoryDTO(
+                List.of("2024-01-01", "2024-01-08", "2024-01-15"),
+                List.of(new BigDecimal("100.50"), new BigDecimal("99.999"), new BigDecimal("0")),
+                List.of(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO),
+                new ArrayList<>(Arrays.asList(new BigDecimal("-12.34"), null, new BigDecimal("5"))),
+                List.of());
+
+        CompactPortfolioHistoryDTO compact = CompactSeriesEncoder.encode(history);
+
+        // Amounts are rounded half-up to paise; nulls become zero; empty series are omitted
+        assertThat(decodeValues(compact.getTotalAssets()))
+                .containsExactly(new BigDecimal("100.50"), new BigDecimal("100.00"), new BigDecimal("0.00"));
+        assertThat(decodeValues(compact.getNetWorth()))
+                .containsExactly(new BigDecimal("-12.34"), new BigDecimal("0.00"), new BigDecimal("5.00"));
+        assertThat(compact.getTotalGains()).isNull();
+    }
+
+    @Test
+    void emptyHistoryEncodesToCountOnly() {
+        CompactPortfolioHistoryDTO compact = CompactSeriesEncoder.encode(
+                new PortfolioHistoryDTO(List.of(), List.of(), List.of(), List.of(), List.of()));
+
+        assertThat(compact.getCount()).isZero();
+        assertThat(compact.getStartEpochDay()).isNull();
+        assertThat(compact.getTotalAssets()).isNull();
+    }
+
+    @Test
+    void typeSeriesRoundTrip() {
+        PortfolioHistorySeriesDTO series = series(weeklyDates(LocalDate.of(2023, 6, 5), 20), 3, new Random(3));
+
+        CompactPortfolioHistoryDTO compact = CompactSeriesEncoder.encode(series);
+
+        assertThat(compact.getAssetTypes()).containsOnlyKeys(series.getAssetTypes().keySet());
+        series.getAssetTypes().forEach((name, typeSeries) -> {
+            assertValuesEqual(decodeValues(compact.getAssetTypes().get(name).getValues()), typeSeries.getValues());
+            assertValuesEqual(decodeValues(compact.getAssetTypes().get(name).getGains()), typeSeries.getGains());
+        });
+        series.getLiabilityTypes().forEach((name, typeSeries) ->
+                assertValuesEqual(decodeValues(compact.getLiabilityTypes().get(name).getValues()), typeSeries.getValues()));
+    }
+
+    /**
+     * Payload size of ten years of weekly history with ten asset and five liability types, plain JSON against the
+     * compact JSON and CBOR encodings
+     */
+    @Test
+    void compactEncodingIsSmallerThanPlainJson() throws Exception {
+        PortfolioHistorySeriesDTO series = series(weeklyDates(LocalDate.of(2015, 1, 5), 520), 10, new Random(4));
+
+        byte[] plainJson = jsonMapper.writeValueAsBytes(series);
+        byte[] compactJson = jsonMapper.writeValueAsBytes(CompactSeriesEncoder.encode(series));
+        byte[] compactCbor = cborMapper.writeValueAsBytes(CompactSeriesEncoder.encode(series));
+
+        assertThat(compactJson.length).isLessThan(plainJson.length * 7 / 10);
+        assertThat(compactCbor.length).isLessThan(compactJson.length);
+    }
+
+    private static List<String> weeklyDates(LocalDate start, int count) {
+        List<String> dates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dates.add(start.plusWeeks(i).toString());
+        }
+        return dates;
+    }
+
+    private static PortfolioHistoryDTO history(List<String> dates, Random random) {
+        return new PortfolioHistoryDTO(dates, amounts(dates.size(), random), amounts(dates.size(), random),
+                amounts(dates.size(), random), amounts(dates.size(), random));
+    }
+
+    private static PortfolioHistorySeriesDTO series(List<String> dates, int assetTypeCount, Random random) {
+        Map<String, PortfolioHistorySeriesDTO.TypeSeries> assetTypes = new LinkedHashMap<>();
+        for (int i = 0; i < assetTypeCount; i++) {
+            assetTypes.put("Asset type " + i, new PortfolioHistorySeriesDTO.TypeSeries(
+                    amounts(dates.size(), random), amounts(dates.size(), random)));
+        }
+        Map<String, PortfolioHistorySeriesDTO.TypeSeries> liabilityTypes = new LinkedHashMap<>();
+        for (int i = 0; i < Math.max(1, assetTypeCount / 2); i++) {
+            liabilityTypes.put("Liability type " + i, new PortfolioHistorySeriesDTO.TypeSeries(
+                    amounts(dates.size(), random), amounts(dates.size(), random)));
+        }
+        return new PortfolioHistorySeriesDTO(dates, amounts(dates.size(), random), amounts(dates.size(), random),
+                amounts(dates.size(), random), amounts(dates.size(), random), assetTypes, liabilityTypes);
+    }
+
+    /**
+     * A rupee series drifting by up to ₹1,000 a week, like real portfolio values
+     */
+    private static List<BigDecimal> amounts(int count, Random random) {
+        List<BigDecimal> amounts = new ArrayList<>(count);
+        long paise = 100_000_00L + random.nextInt(50_000_000);
+        for (int i = 0; i < count; i++) {
+            paise += random.nextInt(200_000) - 90_000;
+            amounts.add(BigDecimal.valueOf(paise, 2));
+        }
+        return amounts;
+    }
+
+    private static List<String> decodeDates(CompactPortfolioHistoryDTO compact) {
+        List<String> dates = new ArrayList<>(compact.getCount());
+        long day = compact.getStartEpochDay();
+        for (int i = 0; i < compact.getCount(); i++) {
+            if (compact.getDayDeltas() != null) {
+                day += compact.getDayDeltas()[i];
+            } else if (i > 0) {
+                day += compact.getStrideDays();
+            }
+            dates.add(LocalDate.ofEpochDay(day).toString());
+        }
+        return dates;
+    }
+
+    private static List<BigDecimal> decodeValues(long[] deltas) {
+        List<BigDecimal> values = new ArrayList<>(deltas.length);
+        long paise = 0;
+        for (long delta : deltas) {
+            paise += delta;
+            values.add(BigDecimal.valueOf(paise, 2));
+        }
+        return values;
+    }
+
+    private static void assertValuesEqual(List<BigDecimal> actual, List<BigDecimal> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).isEqualByComparingTo(expected.get(i));
+        }
+    }
+}
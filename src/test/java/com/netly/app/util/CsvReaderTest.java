@@ -0,0 +1,142 @@
+package com.netly.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsSimpleRecords() throws IOException {
+        assertThat(readAll("name,type,value\nGold,GOLD,100\n"))
+                .containsExactly(List.of("name", "type", "value"), List.of("Gold", "GOLD", "100"));
+    }
+
+    @Test
+    void lastRecordWithoutLineBreak() throws IOException {
+        assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void crlfAndLoneCrEndRecords() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\re,f\r\n"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void blankLinesAreSkipped() throws IOException {
+        assertThat(readAll("a\n\n\r\nb\n\n")).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void emptyFieldsArePreserved() throws IOException {
+        assertThat(readAll(",a,,\n")).containsExactly(List.of("", "a", "", ""));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() throws IOException {
+        assertThat(readAll("\"Flat, Pune\",\"12\"\" screen\",\"\"\n"))
+                .containsExactly(List.of("Flat, Pune", "12\" screen", ""));
+    }
+
+    @Test
+    void quotedFieldsKeepLineBreaks() throws IOException {
+        assertThat(readAll("name,description\r\nFD,\"line one\r\nline two\nline three\"\r\nRD,x\r\n"))
+                .containsExactly(
+                        List.of("name", "description"),
+                        List.of("FD", "line one\r\nline two\nline three"),
+                        List.of("RD", "x"));
+    }
+
+    @Test
+    void quoteAtEndOfInputClosesField() throws IOException {
+        assertThat(readAll("a,\"b\"")).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        assertThat(readAll("\uFEFFname,type\nGold,GOLD\n"))
+                .containsExactly(List.of("name", "type"), List.of("Gold", "GOLD"));
+    }
+
+    @Test
+    void byteOrderMarkOnlyStrippedAtStart() throws IOException {
+        assertThat(readAll("a\n\uFEFFb\n")).containsExactly(List.of("a"), List.of("\uFEFFb"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+        assertThat(readAll("\uFEFF")).isEmpty();
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        assertThatThrownBy(() -> readAll("name,description\nFD,\"never closed\nRD,x\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field in record 2");
+    }
+
+    @Test
+    void fieldOverCapFails() {
+        String longField = "x".repeat(101);
+
+        assertThatThrownBy(() -> readAll("a,b\n" + longField + "\n", 100))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Field longer than 100 characters in record 2");
+    }
+
+    @Test
+    void unterminatedQuoteStopsAtCapInsteadOfBufferingTheRest() {
+        StringBuilder csv = new StringBuilder("name,description\nFD,\"oops\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append("Asset ").append(i).append(",STOCK,100\n");
+        }
+
+        assertThatThrownBy(() -> readAll(csv.toString(), 1024))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Field longer than 1024 characters");
+    }
+
+    @Test
+    void fieldAtCapIsAccepted() throws IOException {
+        String field = "y".repeat(100);
+
+        assertThat(readAll("\"" + field + "\"\n", 100)).containsExactly(List.of(field));
+    }
+
+    @Test
+    void parsesHundredThousandRows() throws IOException {
+        StringBuilder csv = new StringBuilder("name,type,currentValue,purchaseDate,description\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append("Asset ").append(i).append(",STOCK,").append(1000 + i).append(".50,2024-01-15,")
+                    .append(i % 10 == 0 ? "\"Quoted, with comma\"" : "plain").append('\n');
+        }
+
+        List<List<String>> records = readAll(csv.toString());
+
+        assertThat(records).hasSize(100_001);
+        assertThat(records.get(11)).containsExactly("Asset 10", "STOCK", "1010.50", "2024-01-15", "Quoted, with comma");
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        return readAll(csv, CsvReader.DEFAULT_MAX_FIELD_LENGTH);
+    }
+
+    private static List<List<String>> readAll(String csv, int maxFieldLength) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv), maxFieldLength)) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -1,6 +1,6 @@
 import { Component, OnInit, HostListener } from '@angular/core';
 import { BudgetService } from '../../services/budget.service';
-import { BudgetItem, BudgetSummary } from '../../models/budget.model';
+import { BudgetBulkResponse, BudgetItem, BudgetSummary } from '../../models/budget.model';
 import Swal from 'sweetalert2';
 
 @Component({
@@ -60,10 +60,7 @@ export class BudgetComponent implements OnInit {
     this.loading = true;
     this.budgetService.getAllBudgetItems().subscribe({
       next: (items) => {
-        this.incomeItems = items.filter(item => item.itemType === 'INCOME')
-          .sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
-        this.expenseItems = items.filter(item => item.itemType === 'EXPENSE')
-          .sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
+        this.setItems(items);
         this.loadSummary();
         this.loading = false;
       },
@@ -74,6 +71,20 @@ export class BudgetComponent implements OnInit {
     });
   }
 
+  // Bulk responses carry both the items and the summary, so no reload is needed
+  applyBulkResponse(response: BudgetBulkResponse): void {
+    this.setItems(response.items);
+    this.summary = response.summary;
+    this.prepareChartData();
+  }
+
+  setItems(items: BudgetItem[]): void {
+    this.incomeItems = items.filter(item => item.itemType === 'INCOME')
+      .sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
+    this.expenseItems = items.filter(item => item.itemType === 'EXPENSE')
+      .sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
+  }
+
   loadSummary(): void {
     this.budgetService.getBudgetSummary().subscribe({
       next: (summary) => {
@@ -133,11 +144,11 @@ export class BudgetComponent implements OnInit {
       return;
     }
 
-    this.budgetService.createBudgetItem(this.newIncomeItem).subscribe({
-      next: () => {
+    this.budgetService.applyBulkChanges({ creates: [this.newIncomeItem] }).subscribe({
+      next: (response) => {
         this.addingIncome = false;
         this.newIncomeItem = this.createEmptyIncomeItem();
-        this.loadBudgetData();
+        this.applyBulkResponse(response);
         Swal.fire('Success', 'Income item added successfully', 'success');
       },
       error: (error) => {
@@ -152,11 +163,11 @@ export class BudgetComponent implements OnInit {
       return;
     }
 
-    this.budgetService.createBudgetItem(this.newExpenseItem).subscribe({
-      next: () => {
+    this.budgetService.applyBulkChanges({ creates: [this.newExpenseItem] }).subscribe({
+      next: (response) => {
         this.addingExpense = false;
         this.newExpenseItem = this.createEmptyExpenseItem();
-        this.loadBudgetData();
+        this.applyBulkResponse(response);
         Swal.fire('Success', 'Expense item added successfully', 'success');
       },
       error: (error) => {
@@ -200,10 +211,10 @@ export class BudgetComponent implements OnInit {
       return;
     }
 
-    this.budgetService.updateBudgetItem(item.id, item).subscribe({
-      next: () => {
+    this.budgetService.applyBulkChanges({ updates: [item] }).subscribe({
+      next: (response) => {
         this.editingIncome[item.id!] = false;
-        this.loadBudgetData();
+        this.applyBulkResponse(response);
         Swal.fire('Success', 'Income item updated successfully', 'success');
       },
       error: (error) => {
@@ -220,10 +231,10 @@ export class BudgetComponent implements OnInit {
       return;
     }
 
-    this.budgetService.updateBudgetItem(item.id, item).subscribe({
-      next: () => {
+    this.budgetService.applyBulkChanges({ updates: [item] }).subscribe({
+      next: (response) => {
         this.editingExpense[item.id!] = false;
-        this.loadBudgetData();
+        this.applyBulkResponse(response);
         Swal.fire('Success', 'Expense item updated successfully', 'success');
       },
       error: (error) => {
@@ -245,9 +256,9 @@ export class BudgetComponent implements OnInit {
       confirmButtonText: 'Yes, delete it!'
     }).then((result) => {
       if (result.isConfirmed && item.id) {
-        this.budgetService.deleteBudgetItem(item.id).subscribe({
-          next: () => {
-            this.loadBudgetData();
+        this.budgetService.applyBulkChanges({ deletes: [item.id] }).subscribe({
+          next: (response) => {
+            this.applyBulkResponse(response);
             Swal.fire('Deleted!', 'Income item has been deleted.', 'success');
           },
           error: (error) => {
@@ -271,9 +282,9 @@ export class BudgetComponent implements OnInit {
       confirmButtonText: 'Yes, delete it!'
     }).then((result) => {
       if (result.isConfirmed && item.id) {
-        this.budgetService.deleteBudgetItem(item.id).subscribe({
-          next: () => {
-            this.loadBudgetData();
+        this.budgetService.applyBulkChanges({ deletes: [item.id] }).subscribe({
+          next: (response) => {
+            this.applyBulkResponse(response);
             Swal.fire('Deleted!', 'Expense item has been deleted.', 'success');
           },
           error: (error) => {
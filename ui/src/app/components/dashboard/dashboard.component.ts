@@ -1,13 +1,13 @@
-import { Component, OnInit, HostListener } from '@angular/core';
+import { Component, OnInit, OnDestroy, HostListener } from '@angular/core';
 import { Router } from '@angular/router';
-import { AssetService } from '../../services/asset.service';
-import { LiabilityService } from '../../services/liability.service';
+import { Subscription, debounceTime, filter } from 'rxjs';
 import { ConfigurationService } from '../../services/configuration.service';
 import { PortfolioSnapshotService } from '../../services/portfolio-snapshot.service';
+import { DashboardDataService } from '../../services/dashboard-data.service';
 import { Asset, PortfolioSummary } from '../../models/asset.model';
 import { Liability } from '../../models/liability.model';
 import { CustomAssetType } from '../../models/configuration.model';
-import { PortfolioHistory, HistoryFilterType } from '../../models/portfolio-snapshot.model';
+import { PortfolioHistory, PortfolioHistorySeries, HistoryFilterType } from '../../models/portfolio-snapshot.model';
 
 @Component({
     selector: 'app-dashboard',
@@ -15,7 +15,7 @@ import { PortfolioHistory, HistoryFilterType } from '../../models/portfolio-snap
     styleUrls: ['./dashboard.component.css'],
     standalone: false
 })
-export class DashboardComponent implements OnInit {
+export class DashboardComponent implements OnInit, OnDestroy {
   summary: PortfolioSummary | null = null;
   assets: Asset[] = [];
   liabilities: Liability[] = [];
@@ -55,17 +55,29 @@ export class DashboardComponent implements OnInit {
     { label: 'All', weeks: 9999 }
   ];
 
+  private changesSubscription = new Subscription();
+
   constructor(
-    private assetService: AssetService,
-    private liabilityService: LiabilityService,
     private configurationService: ConfigurationService,
     private portfolioSnapshotService: PortfolioSnapshotService,
+    private dashboardDataService: DashboardDataService,
     private router: Router
   ) {
   }
 
   ngOnInit(): void {
     this.loadCustomAssetTypes();
+    // Reload in place when the server reports a change; bursts (e.g. an import) arrive together
+    this.changesSubscription.add(this.dashboardDataService.changes
+      .pipe(filter(type => type === 'DATA_CHANGED'), debounceTime(500))
+      .subscribe(() => this.loadDashboardData(false)));
+    this.changesSubscription.add(this.dashboardDataService.changes
+      .pipe(filter(type => type === 'SNAPSHOT_CREATED' || type === 'DATA_CHANGED'), debounceTime(500))
+      .subscribe(() => this.loadPortfolioHistory()));
+  }
+
+  ngOnDestroy(): void {
+    this.changesSubscription.unsubscribe();
   }
 
   @HostListener('window:resize', ['$event'])
@@ -92,10 +104,12 @@ export class DashboardComponent implements OnInit {
     });
   }
 
-  loadDashboardData(): void {
-    this.loading = true;
+  loadDashboardData(showLoading: boolean = true): void {
+    if (showLoading) {
+      this.loading = true;
+    }
 
-    this.assetService.getPortfolioSummary().subscribe({
+    this.dashboardDataService.getSummary().subscribe({
       next: (summary) => {
         this.summary = summary;
         this.prepareChartData(summary);
@@ -107,7 +121,7 @@ export class DashboardComponent implements OnInit {
       }
     });
 
-    this.assetService.getAllAssets().subscribe({
+    this.dashboardDataService.getAssets().subscribe({
       next: (assets) => {
         this.assets = assets;
         this.loading = false;
@@ -118,7 +132,7 @@ export class DashboardComponent implements OnInit {
       }
     });
 
-    this.liabilityService.getAllLiabilities().subscribe({
+    this.dashboardDataService.getLiabilities().subscribe({
       next: (liabilities) => {
         this.liabilities = liabilities;
       },
@@ -425,18 +439,7 @@ export class DashboardComponent implements OnInit {
 
     switch (this.selectedHistoryFilter) {
       case HistoryFilterType.OVERVIEW:
-        this.portfolioSnapshotService.getPortfolioHistory(this.selectedHistoryWeeks).subscribe({
-          next: (history) => {
-            this.portfolioHistory = history;
-            this.prepareHistoryChart(history);
-            this.historyLoading = false;
-          },
-          error: (error) => {
-            console.error('Error loading portfolio history:', error);
-            this.historyLoading = false;
-            this.hasHistoryData = false;
-          }
-        });
+        this.loadHistoryFromSeries();
         break;
 
       case HistoryFilterType.ASSET:
@@ -458,18 +461,7 @@ export class DashboardComponent implements OnInit {
 
       case HistoryFilterType.ASSET_TYPE:
         if (this.selectedAssetTypeForHistory) {
-          this.portfolioSnapshotService.getAssetTypeHistory(this.selectedAssetTypeForHistory, this.selectedHistoryWeeks).subscribe({
-            next: (history) => {
-              this.portfolioHistory = history;
-              this.prepareHistoryChart(history);
-              this.historyLoading = false;
-            },
-            error: (error) => {
-              console.error('Error loading asset type history:', error);
-              this.historyLoading = false;
-              this.hasHistoryData = false;
-            }
-          });
+          this.loadHistoryFromSeries();
         }
         break;
 
@@ -492,23 +484,67 @@ export class DashboardComponent implements OnInit {
 
       case HistoryFilterType.LIABILITY_TYPE:
         if (this.selectedLiabilityTypeForHistory) {
-          this.portfolioSnapshotService.getLiabilityTypeHistory(this.selectedLiabilityTypeForHistory, this.selectedHistoryWeeks).subscribe({
-            next: (history) => {
-              this.portfolioHistory = history;
-              this.prepareHistoryChart(history);
-              this.historyLoading = false;
-            },
-            error: (error) => {
-              console.error('Error loading liability type history:', error);
-              this.historyLoading = false;
-              this.hasHistoryData = false;
-            }
-          });
+          this.loadHistoryFromSeries();
         }
         break;
     }
   }
 
+  // Overview and type series for the selected period come from one call, cached across filters
+  // until a new snapshot is written
+  private loadHistoryFromSeries(): void {
+    this.dashboardDataService.getHistorySeries(this.selectedHistoryWeeks).subscribe({
+      next: (series) => {
+        this.applyHistorySeries(series);
+      },
+      error: (error) => {
+        console.error('Error loading portfolio history:', error);
+        this.historyLoading = false;
+        this.hasHistoryData = false;
+      }
+    });
+  }
+
+  private applyHistorySeries(series: PortfolioHistorySeries): void {
+    let history: PortfolioHistory;
+    switch (this.selectedHistoryFilter) {
+      case HistoryFilterType.ASSET_TYPE: {
+        const typeSeries = series.assetTypes[this.selectedAssetTypeForHistory || ''];
+        history = {
+          dates: series.dates,
+          totalAssets: typeSeries ? typeSeries.values : series.dates.map(() => 0),
+          totalGains: typeSeries ? typeSeries.gains : series.dates.map(() => 0),
+          totalLiabilities: [],
+          netWorth: []
+        };
+        break;
+      }
+      case HistoryFilterType.LIABILITY_TYPE: {
+        const typeSeries = series.liabilityTypes[this.selectedLiabilityTypeForHistory || ''];
+        history = {
+          dates: series.dates,
+          totalLiabilities: typeSeries ? typeSeries.values : series.dates.map(() => 0),
+          totalAssets: [],
+          totalGains: [],
+          netWorth: []
+        };
+        break;
+      }
+      default:
+        history = {
+          dates: series.dates,
+          totalAssets: series.totalAssets,
+          totalLiabilities: series.totalLiabilities,
+          netWorth: series.netWorth,
+          totalGains: series.totalGains
+        };
+    }
+
+    this.portfolioHistory = history;
+    this.prepareHistoryChart(history);
+    this.historyLoading = false;
+  }
+
   prepareHistoryChart(history: PortfolioHistory): void {
     if (!history || !history.dates || history.dates.length === 0) {
       this.hasHistoryData = false;
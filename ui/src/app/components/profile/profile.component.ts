@@ -167,9 +167,11 @@ export class ProfileComponent implements OnInit {
   sendReport(): void {
     this.sendingReport = true;
     this.userService.sendPortfolioReport().subscribe({
-      next: () => {
+      next: (job) => {
         this.sendingReport = false;
-        this.showMessage('success', 'Portfolio report has been queued and will be sent to all your email addresses shortly.');
+        this.showMessage('success', job.deduplicated
+          ? 'Your portfolio report was already requested and will be sent to all your email addresses shortly.'
+          : 'Portfolio report has been queued and will be sent to all your email addresses shortly.');
       },
       error: (error) => {
         console.error('Error sending report:', error);
@@ -181,9 +183,11 @@ export class ProfileComponent implements OnInit {
   sendBudgetReport(): void {
     this.sendingBudgetReport = true;
     this.userService.sendBudgetReport().subscribe({
-      next: () => {
+      next: (job) => {
         this.sendingBudgetReport = false;
-        this.showMessage('success', 'Budget report has been queued and will be sent to all your email addresses shortly.');
+        this.showMessage('success', job.deduplicated
+          ? 'Your budget report was already requested and will be sent to all your email addresses shortly.'
+          : 'Budget report has been queued and will be sent to all your email addresses shortly.');
       },
       error: (error) => {
         console.error('Error sending budget report:', error);
@@ -10,6 +10,7 @@ export interface Asset {
   quantity?: number;
   description?: string;
   location?: string;
+  symbol?: string;
   illiquid?: boolean;
   gainLoss?: number;
   gainLossPercentage?: number;
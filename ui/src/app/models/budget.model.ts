@@ -21,3 +21,15 @@ export interface BudgetSummary {
   surplusOrDeficitRate: number;
 }
 
+
+export interface BudgetBulkRequest {
+  creates?: BudgetItem[];
+  updates?: BudgetItem[];
+  deletes?: number[];
+  reorders?: { id: number; displayOrder: number }[];
+}
+
+export interface BudgetBulkResponse {
+  items: BudgetItem[];
+  summary: BudgetSummary;
+}
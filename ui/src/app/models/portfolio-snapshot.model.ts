@@ -36,6 +36,21 @@ export interface PortfolioHistory {
   totalGains: number[];
 }
 
+export interface TypeSeries {
+  values: number[];
+  gains: number[];
+}
+
+export interface PortfolioHistorySeries {
+  dates: string[];
+  totalAssets: number[];
+  totalLiabilities: number[];
+  netWorth: number[];
+  totalGains: number[];
+  assetTypes: { [typeName: string]: TypeSeries };
+  liabilityTypes: { [typeName: string]: TypeSeries };
+}
+
 export enum HistoryFilterType {
   OVERVIEW = 'overview',
   ASSET = 'asset',
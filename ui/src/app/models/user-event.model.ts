@@ -0,0 +1,6 @@
+export type UserEventType = 'DATA_CHANGED' | 'SNAPSHOT_CREATED' | 'REPORT_SENT';
+
+export interface UserEvent {
+  type: UserEventType;
+  data: { [key: string]: string };
+}
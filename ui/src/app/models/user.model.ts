@@ -9,3 +9,13 @@ export interface UpdateSecondaryEmailsRequest {
   secondaryEmails: string[];
 }
 
+
+export interface ReportJob {
+  jobId: string;
+  reportType: 'PORTFOLIO' | 'BUDGET';
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  error?: string;
+  createdAt: string;
+  completedAt?: string;
+  deduplicated: boolean;
+}
@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../environments/environment.development';
-import { BudgetItem, BudgetSummary } from '../models/budget.model';
+import { BudgetBulkRequest, BudgetBulkResponse, BudgetItem, BudgetSummary } from '../models/budget.model';
 
 @Injectable({
   providedIn: 'root'
@@ -36,6 +36,10 @@ export class BudgetService {
     return this.http.delete<void>(`${this.apiUrl}/${id}`);
   }
 
+  applyBulkChanges(request: BudgetBulkRequest): Observable<BudgetBulkResponse> {
+    return this.http.post<BudgetBulkResponse>(`${this.apiUrl}/bulk`, request);
+  }
+
   getBudgetSummary(): Observable<BudgetSummary> {
     return this.http.get<BudgetSummary>(`${this.apiUrl}/summary`);
   }
@@ -0,0 +1,126 @@
+import { Injectable } from '@angular/core';
+import { Observable, Subject, Subscription, shareReplay } from 'rxjs';
+import { AssetService } from './asset.service';
+import { LiabilityService } from './liability.service';
+import { PortfolioSnapshotService } from './portfolio-snapshot.service';
+import { EventService } from './event.service';
+import { AuthService } from './auth.service';
+import { Asset, PortfolioSummary } from '../models/asset.model';
+import { Liability } from '../models/liability.model';
+import { PortfolioHistorySeries } from '../models/portfolio-snapshot.model';
+import { UserEvent, UserEventType } from '../models/user-event.model';
+
+// Dashboard data kept across visits and dropped when the server reports a change over the event
+// stream, so returning to the dashboard does not re-request everything. While the stream is down
+// changes could be missed, so every read goes to the server until it is back.
+@Injectable({
+  providedIn: 'root'
+})
+export class DashboardDataService {
+  // Emits after cached data was dropped because of a server-side change
+  readonly changes = new Subject<UserEventType>();
+
+  private summary$: Observable<PortfolioSummary> | null = null;
+  private assets$: Observable<Asset[]> | null = null;
+  private liabilities$: Observable<Liability[]> | null = null;
+  // History series by period; only changes when a snapshot is written
+  private historySeries = new Map<number, Observable<PortfolioHistorySeries>>();
+
+  private userId: number | null = null;
+  private eventSubscription: Subscription | null = null;
+  private live = false;
+  private connectedBefore = false;
+
+  constructor(
+    private assetService: AssetService,
+    private liabilityService: LiabilityService,
+    private portfolioSnapshotService: PortfolioSnapshotService,
+    private eventService: EventService,
+    authService: AuthService
+  ) {
+    authService.currentUser.subscribe(user => this.onUserChanged(user?.userId ?? null));
+  }
+
+  getSummary(): Observable<PortfolioSummary> {
+    if (!this.live || !this.summary$) {
+      this.summary$ = this.cached(this.assetService.getPortfolioSummary());
+    }
+    return this.summary$;
+  }
+
+  getAssets(): Observable<Asset[]> {
+    if (!this.live || !this.assets$) {
+      this.assets$ = this.cached(this.assetService.getAllAssets());
+    }
+    return this.assets$;
+  }
+
+  getLiabilities(): Observable<Liability[]> {
+    if (!this.live || !this.liabilities$) {
+      this.liabilities$ = this.cached(this.liabilityService.getAllLiabilities());
+    }
+    return this.liabilities$;
+  }
+
+  getHistorySeries(weeks: number): Observable<PortfolioHistorySeries> {
+    let series$ = this.live ? this.historySeries.get(weeks) : undefined;
+    if (!series$) {
+      series$ = this.cached(this.portfolioSnapshotService.getHistorySeries(weeks));
+      this.historySeries.set(weeks, series$);
+    }
+    return series$;
+  }
+
+  // Failed requests are not replayed; the next subscriber fetches again
+  private cached<T>(source: Observable<T>): Observable<T> {
+    return source.pipe(shareReplay({ bufferSize: 1, refCount: false }));
+  }
+
+  private onUserChanged(userId: number | null): void {
+    if (userId === this.userId) {
+      return;
+    }
+    this.userId = userId;
+    this.clear();
+    this.eventSubscription?.unsubscribe();
+    this.eventSubscription = null;
+    this.live = false;
+    this.connectedBefore = false;
+
+    if (userId !== null) {
+      this.eventSubscription = this.eventService.events(connected => this.onConnectionChange(connected))
+        .subscribe(event => this.onEvent(event));
+    }
+  }
+
+  private onConnectionChange(connected: boolean): void {
+    this.live = connected;
+    if (!connected) {
+      return;
+    }
+    // Anything cached before the stream opened may have missed events
+    this.clear();
+    if (this.connectedBefore) {
+      this.changes.next('DATA_CHANGED');
+      this.changes.next('SNAPSHOT_CREATED');
+    }
+    this.connectedBefore = true;
+  }
+
+  private onEvent(event: UserEvent): void {
+    if (event.type === 'DATA_CHANGED') {
+      this.clear();
+      this.changes.next(event.type);
+    } else if (event.type === 'SNAPSHOT_CREATED') {
+      this.historySeries.clear();
+      this.changes.next(event.type);
+    }
+  }
+
+  private clear(): void {
+    this.summary$ = null;
+    this.assets$ = null;
+    this.liabilities$ = null;
+    this.historySeries.clear();
+  }
+}
@@ -0,0 +1,105 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable } from 'rxjs';
+import { AuthService } from './auth.service';
+import { UserEvent, UserEventType } from '../models/user-event.model';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class EventService {
+  private apiUrl = '/api/events';
+  private retryDelayMs = 5000;
+
+  constructor(private authService: AuthService, private zone: NgZone) {}
+
+  // Server-sent events for the current user. EventSource cannot send the Authorization header,
+  // so the stream is read with fetch and reconnected whenever it ends. onConnectionChange is told
+  // when the stream opens and closes, since events sent while it was closed are lost.
+  events(onConnectionChange?: (connected: boolean) => void): Observable<UserEvent> {
+    return new Observable<UserEvent>(subscriber => {
+      let controller: AbortController | null = null;
+      let retryTimer: any = null;
+      let closed = false;
+
+      const connect = async () => {
+        const token = this.authService.token;
+        if (closed || !token) {
+          return;
+        }
+        controller = new AbortController();
+        let retryDelayMs = this.retryDelayMs;
+        try {
+          const response = await fetch(this.apiUrl, {
+            headers: { 'Authorization': `Bearer ${token}`, 'Accept': 'text/event-stream' },
+            signal: controller.signal
+          });
+          if (response.ok && response.body) {
+            this.zone.run(() => onConnectionChange?.(true));
+            try {
+              await this.readEvents(response.body, event => this.zone.run(() => subscriber.next(event)));
+            } finally {
+              this.zone.run(() => onConnectionChange?.(false));
+            }
+          } else if (response.status === 429) {
+            // Too many open streams (e.g. many tabs); wait as long as the server asks
+            retryDelayMs = Math.max(retryDelayMs, Number(response.headers.get('Retry-After') || 0) * 1000);
+          }
+        } catch {
+          // Network error or abort; reconnect below unless closed
+        }
+        if (!closed) {
+          retryTimer = setTimeout(connect, retryDelayMs);
+        }
+      };
+
+      this.zone.runOutsideAngular(() => connect());
+
+      return () => {
+        closed = true;
+        clearTimeout(retryTimer);
+        controller?.abort();
+      };
+    });
+  }
+
+  private async readEvents(body: ReadableStream<Uint8Array>, emit: (event: UserEvent) => void): Promise<void> {
+    const reader = body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+
+    while (true) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += decoder.decode(value, { stream: true });
+
+      let boundary: number;
+      while ((boundary = buffer.search(/\r?\n\r?\n/)) >= 0) {
+        const block = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '');
+        const event = this.parseEvent(block);
+        if (event) {
+          emit(event);
+        }
+      }
+    }
+  }
+
+  private parseEvent(block: string): UserEvent | null {
+    let type: string | null = null;
+    const data: string[] = [];
+    for (const line of block.split(/\r?\n/)) {
+      if (line.startsWith('event:')) {
+        type = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        data.push(line.slice(5).trimStart());
+      }
+    }
+    // Comment-only blocks are heartbeats
+    if (!type) {
+      return null;
+    }
+    return { type: type as UserEventType, data: data.length ? JSON.parse(data.join('\n')) : {} };
+  }
+}
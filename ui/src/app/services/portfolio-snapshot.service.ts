@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { PortfolioSnapshot, PortfolioHistory } from '../models/portfolio-snapshot.model';
+import { PortfolioSnapshot, PortfolioHistory, PortfolioHistorySeries } from '../models/portfolio-snapshot.model';
 import { environment } from '../../environments/environment.development';
 
 @Injectable({
@@ -32,6 +32,11 @@ export class PortfolioSnapshotService {
     return this.http.get<PortfolioHistory>(`${this.apiUrl}/history`, { params });
   }
 
+  getHistorySeries(weeks: number = 12): Observable<PortfolioHistorySeries> {
+    const params = new HttpParams().set('weeks', weeks.toString());
+    return this.http.get<PortfolioHistorySeries>(`${this.apiUrl}/history/series`, { params });
+  }
+
   getAssetHistory(assetId: number, weeks: number = 12): Observable<PortfolioHistory> {
     const params = new HttpParams().set('weeks', weeks.toString());
     return this.http.get<PortfolioHistory>(`${this.apiUrl}/history/asset/${assetId}`, { params });
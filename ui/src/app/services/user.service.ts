@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { UserProfile, UpdateSecondaryEmailsRequest } from '../models/user.model';
+import { UserProfile, UpdateSecondaryEmailsRequest, ReportJob } from '../models/user.model';
 import { environment } from '../../environments/environment.development';
 
 @Injectable({
@@ -24,12 +24,17 @@ export class UserService {
     return this.http.put<UserProfile>(`${this.apiUrl}/user/profile/basic`, request);
   }
 
-  sendPortfolioReport(): Observable<string> {
-    return this.http.post(`${this.apiUrl}/user/profile/send-portfolio-report`, {}, { responseType: 'text' as const });
+  // Reports are generated in the background; the returned job can be polled with getReportJob
+  sendPortfolioReport(): Observable<ReportJob> {
+    return this.http.post<ReportJob>(`${this.apiUrl}/user/profile/send-portfolio-report`, {});
   }
 
-  sendBudgetReport(): Observable<string> {
-    return this.http.post(`${this.apiUrl}/user/profile/send-budget-report`, {}, { responseType: 'text' as const });
+  sendBudgetReport(): Observable<ReportJob> {
+    return this.http.post<ReportJob>(`${this.apiUrl}/user/profile/send-budget-report`, {});
+  }
+
+  getReportJob(jobId: string): Observable<ReportJob> {
+    return this.http.get<ReportJob>(`${this.apiUrl}/user/profile/report-jobs/${jobId}`);
   }
 
   requestOtpForPrimaryEmailChange(newEmail: string): Observable<string> {